@@ -0,0 +1,166 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import seed.DatabaseSeeder;
+import util.DBConnection;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local database the benchmarks run against, seeded with {@code rows} users and projects,
+ * a tenth as many teams, ten members per team and one team per project.
+ * <p>
+ * Each size lives in its own database ({@code systemgp_bench_<rows>}), created from the tables of
+ * {@code sql/db/dump.sql} on first use and reused by later runs, so the million-row seed is only
+ * paid once. The repositories are pointed at it through the {@code db.*} system properties, which
+ * works because JMH runs every parameter combination in a fresh fork.
+ * <p>
+ * The server URL and credentials default to the Docker Compose setup and are set with
+ * {@code bench.serverUrl}, {@code bench.user} and {@code bench.password}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    /**
+     * Server the benchmark databases are created on, and the credentials used for everything
+     */
+    private static final String SERVER_URL = System.getProperty("bench.serverUrl",
+            "jdbc:mysql://localhost:3306/?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true");
+    private static final String USER = System.getProperty("bench.user", "root");
+    private static final String PASSWORD = System.getProperty("bench.password", "123456");
+
+    /**
+     * Schema file whose tables are created (relative to the benchmarks directory)
+     */
+    private static final Path SCHEMA = Path.of(System.getProperty("bench.schema", "../sql/db/dump.sql"));
+
+    /**
+     * Creates and fills the benchmark databases
+     */
+    private static final DatabaseSeeder SEEDER = new DatabaseSeeder(SERVER_URL, USER, PASSWORD, SCHEMA);
+
+    /**
+     * Number of generated users and projects
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    /**
+     * Creates and seeds the database for this size if needed, and points the repositories at it.
+     *
+     * @throws SQLException if the database cannot be prepared
+     * @throws IOException  if the schema file cannot be read
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        String database = "systemgp_bench_" + rows;
+        if (!isSeeded(database)) {
+            long start = System.nanoTime();
+            SEEDER.recreate(database, rows);
+            System.out.printf("Seeded %s in %.1fs%n", database, (System.nanoTime() - start) / 1e9);
+        } else {
+            removeCreatedTeams(database);
+        }
+        System.setProperty("db.url", SEEDER.databaseUrl(database) + "&useServerPrepStmts=true&useCursorFetch=true&rewriteBatchedStatements=true");
+        System.setProperty("db.user", USER);
+        System.setProperty("db.password", PASSWORD);
+    }
+
+    /**
+     * Closes the pooled connections and removes the teams the benchmarks created.
+     *
+     * @throws SQLException if the teams cannot be removed
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        DBConnection.shutdown();
+        removeCreatedTeams("systemgp_bench_" + rows);
+    }
+
+    /**
+     * Number of generated teams.
+     *
+     * @return team count
+     */
+    public int teams() {
+        return DatabaseSeeder.teamCount(rows);
+    }
+
+    /**
+     * Login of a random generated user.
+     *
+     * @return login
+     */
+    public String randomLogin() {
+        return "user" + (1 + ThreadLocalRandom.current().nextInt(rows));
+    }
+
+    /**
+     * ID of a random generated project.
+     *
+     * @return project ID
+     */
+    public int randomProjectId() {
+        return 1 + ThreadLocalRandom.current().nextInt(rows);
+    }
+
+    /**
+     * Distinct random IDs of generated users or projects (both are numbered 1 to {@link #rows}).
+     *
+     * @param count number of IDs, at most {@link #rows}
+     * @return IDs
+     */
+    public List<Integer> randomIds(int count) {
+        return ThreadLocalRandom.current().ints(1, rows + 1).distinct().limit(count).boxed().toList();
+    }
+
+    /**
+     * Returns whether a database exists and holds a complete seed of this size. The last table
+     * filled is checked, so an interrupted seed is redone.
+     */
+    private boolean isSeeded(String database) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(SERVER_URL, USER, PASSWORD);
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = ? AND table_name = 'project_teams'")) {
+            stmt.setString(1, database);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) == 0) {
+                    return false;
+                }
+            }
+        }
+        try (Connection conn = DriverManager.getConnection(SEEDER.databaseUrl(database), USER, PASSWORD);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM project_teams")) {
+            return rs.next() && rs.getInt(1) >= rows;
+        }
+    }
+
+    /**
+     * Deletes the teams added after the seed, such as those of
+     * {@link TeamRepositoryBenchmark#addTeam(BenchmarkDatabase)}, so the team benchmarks always
+     * read the seeded rows. Their members and project links go with them through the cascades.
+     * Also run before a trial, in case an earlier run was interrupted before its teardown.
+     */
+    private void removeCreatedTeams(String database) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(SEEDER.databaseUrl(database), USER, PASSWORD);
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM teams WHERE id > ?")) {
+            stmt.setInt(1, teams());
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package benchmark;
+
+import model.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.ProjectRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link ProjectRepository}. {@code findAll} reads every project with its teams,
+ * so at a million rows a single call takes seconds; {@code findById} picks random projects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ProjectRepositoryBenchmark {
+
+    /**
+     * Repository under test
+     */
+    private final ProjectRepository projects = new ProjectRepository();
+
+    /**
+     * Loads every project with its teams.
+     */
+    @Benchmark
+    public List<Project> findAll(BenchmarkDatabase db) {
+        return projects.findAll();
+    }
+
+    /**
+     * Finds a random project, through the entity cache.
+     */
+    @Benchmark
+    public Project findById(BenchmarkDatabase db) {
+        return projects.findById(db.randomProjectId());
+    }
+
+    /**
+     * Counts the projects.
+     */
+    @Benchmark
+    public int countProjects(BenchmarkDatabase db) {
+        return projects.countProjects();
+    }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import model.Project;
+import model.Team;
+import model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks of {@link TeamRepository}. {@code addTeam} creates a team with
+ * {@value #MEMBERS_PER_TEAM} random members and {@value #PROJECTS_PER_TEAM} random projects per
+ * call; {@link BenchmarkDatabase} deletes the created teams when the trial ends, so they never
+ * reach the {@code getAllTeams} numbers of later runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TeamRepositoryBenchmark {
+
+    /**
+     * Size of the teams created by {@link #addTeam(BenchmarkDatabase)}
+     */
+    private static final int MEMBERS_PER_TEAM = 5;
+    private static final int PROJECTS_PER_TEAM = 2;
+
+    /**
+     * Repository under test
+     */
+    private final TeamRepository teams = new TeamRepository();
+
+    /**
+     * Numbers the created teams
+     */
+    private final AtomicInteger created = new AtomicInteger();
+
+    /**
+     * Loads every team with its members and projects.
+     */
+    @Benchmark
+    public List<Team> getAllTeams(BenchmarkDatabase db) {
+        return teams.getAllTeams();
+    }
+
+    /**
+     * Creates a team with random members and projects in one transaction.
+     */
+    @Benchmark
+    public boolean addTeam(BenchmarkDatabase db) {
+        List<User> members = new ArrayList<>();
+        for (int userId : db.randomIds(MEMBERS_PER_TEAM)) {
+            User member = new User();
+            member.setId(userId);
+            members.add(member);
+        }
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < PROJECTS_PER_TEAM; i++) {
+            Project project = new Project();
+            project.setId(db.randomProjectId());
+            projects.add(project);
+        }
+        Team team = new Team(0, "Benchmark Team " + created.incrementAndGet(), "Created by TeamRepositoryBenchmark",
+                members, projects);
+        return teams.addTeam(team);
+    }
+
+    /**
+     * Counts the teams.
+     */
+    @Benchmark
+    public int countTeams(BenchmarkDatabase db) {
+        return teams.countTeams();
+    }
+}
@@ -0,0 +1,49 @@
+package benchmark;
+
+import model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import repository.UserRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link UserRepository}. Logins are picked at random over the whole table, so
+ * small tables are served by the entity cache and large ones mostly by the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UserRepositoryBenchmark {
+
+    /**
+     * Repository under test
+     */
+    private final UserRepository users = new UserRepository();
+
+    /**
+     * Finds a random user by login, through the entity cache.
+     */
+    @Benchmark
+    public User findByLogin(BenchmarkDatabase db) {
+        return users.findByLogin(db.randomLogin());
+    }
+
+    /**
+     * Counts the users.
+     */
+    @Benchmark
+    public int countUsers(BenchmarkDatabase db) {
+        return users.countUsers();
+    }
+}
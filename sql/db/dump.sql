@@ -9,12 +9,17 @@ USE systemdb;
 -- -------------------------------
 CREATE TABLE IF NOT EXISTS users (
     id INT AUTO_INCREMENT PRIMARY KEY,
-    full_name VARCHAR(100) NOT NULL,
+    full_name VARCHAR(100) COLLATE utf8mb4_0900_ai_ci NOT NULL, -- Sorted like util.NameOrder
     cpf VARCHAR(20),
     email VARCHAR(100) NOT NULL UNIQUE,
     login VARCHAR(50) NOT NULL UNIQUE,
     password VARCHAR(100) NOT NULL,
-    role ENUM('ADMINISTRATOR', 'MANAGER', 'COLLABORATOR') DEFAULT 'COLLABORATOR'
+    role ENUM('ADMINISTRATOR', 'MANAGER', 'COLLABORATOR') DEFAULT 'COLLABORATOR',
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    row_version BIGINT NOT NULL DEFAULT 1,
+    INDEX idx_users_full_name (full_name, id), -- Keyset pagination: ORDER BY full_name, id
+    INDEX idx_users_updated_at (updated_at),   -- Delta sync: WHERE updated_at >= ?
+    INDEX idx_users_cpf (cpf)                  -- Import duplicate check: WHERE cpf IN (...)
 );
 
 -- -------------------------------
@@ -22,8 +27,12 @@ CREATE TABLE IF NOT EXISTS users (
 -- -------------------------------
 CREATE TABLE IF NOT EXISTS teams (
     id INT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(100) NOT NULL,
-    description TEXT
+    name VARCHAR(100) COLLATE utf8mb4_0900_ai_ci NOT NULL, -- Sorted like util.NameOrder
+    description TEXT,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    row_version BIGINT NOT NULL DEFAULT 1,
+    INDEX idx_teams_name (name, id), -- Keyset pagination: ORDER BY name, id
+    INDEX idx_teams_updated_at (updated_at)
 );
 
 -- -------------------------------
@@ -31,12 +40,21 @@ CREATE TABLE IF NOT EXISTS teams (
 -- -------------------------------
 CREATE TABLE IF NOT EXISTS projects (
     id INT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(100) NOT NULL,
+    name VARCHAR(100) COLLATE utf8mb4_0900_ai_ci NOT NULL, -- Sorted like util.NameOrder
     description TEXT,
     start_date DATE,
     expected_end_date DATE,
     status ENUM('PLANNED','IN_PROGRESS','COMPLETED','CANCELED') DEFAULT 'PLANNED',
     manager_id INT,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    row_version BIGINT NOT NULL DEFAULT 1,
+    INDEX idx_projects_name (name, id), -- Keyset pagination: ORDER BY name, id
+    INDEX idx_projects_status_name (status, name, id), -- Status filter, ordered by name
+    INDEX idx_projects_manager_name (manager_id, name, id), -- Manager filter, ordered by name
+    INDEX idx_projects_manager_status (manager_id, status, name, id), -- Manager and status filters, ordered by name
+    INDEX idx_projects_start_date (start_date, id), -- Start date range or ORDER BY start_date, id
+    INDEX idx_projects_end_date (expected_end_date, id), -- End date range or ORDER BY expected_end_date, id
+    INDEX idx_projects_updated_at (updated_at),
     FOREIGN KEY (manager_id) REFERENCES users(id) ON DELETE SET NULL
 );
 
@@ -46,7 +64,9 @@ CREATE TABLE IF NOT EXISTS projects (
 CREATE TABLE IF NOT EXISTS team_members (
     team_id INT NOT NULL,
     user_id INT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
     PRIMARY KEY (team_id, user_id),
+    INDEX idx_team_members_user (user_id), -- Reverse lookup: teams of a user
     FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
@@ -57,11 +77,24 @@ CREATE TABLE IF NOT EXISTS team_members (
 CREATE TABLE IF NOT EXISTS project_teams (
     project_id INT NOT NULL,
     team_id INT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
     PRIMARY KEY (project_id, team_id),
+    INDEX idx_project_teams_team (team_id), -- Reverse lookup: projects of a team
     FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
     FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE
 );
 
+-- -------------------------------
+-- Deleted Rows (tombstones for delta sync)
+-- -------------------------------
+CREATE TABLE IF NOT EXISTS deleted_rows (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    table_name VARCHAR(30) NOT NULL,
+    row_id INT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    INDEX idx_deleted_rows_table_time (table_name, deleted_at)
+);
+
 -- -------------------------------
 -- Insert Users
 -- -------------------------------
@@ -0,0 +1,371 @@
+package audit;
+
+import enums.ProjectStatus;
+import enums.UserRole;
+import model.Project;
+import model.ProjectCard;
+import model.Team;
+import model.User;
+import model.UserCard;
+import repository.DashboardRepository;
+import repository.Page;
+import repository.ProjectQuery;
+import repository.ProjectRepository;
+import repository.SyncRepository;
+import repository.TeamRepository;
+import repository.UserRepository;
+import seed.DatabaseSeeder;
+import util.DBConnection;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks the execution plan of every statement the repositories issue, against a generated
+ * dataset large enough for missing indexes to show.
+ * <p>
+ * The audit recreates the database {@code audit.database} (default {@code systemgp_audit}) with
+ * the tables of {@code sql/db/dump.sql} and fills it with {@code audit.rows} users and projects
+ * (default 100000), a tenth as many teams, ten members per team and one team per project.
+ * It then runs every repository operation with a {@link util.ConnectionPool.StatementListener}
+ * installed and runs {@code EXPLAIN} on each distinct statement, with the parameters it ran with.
+ * <p>
+ * A statement fails when one of its table accesses reads more than {@code audit.maxRows} rows
+ * (default 1000) through a full table or index scan, or sorts them with a filesort. Operations
+ * that read whole tables by design (lists, streams, counts) name those tables, as shown by
+ * {@code EXPLAIN}, and are exempt from the scan check for them only.
+ * <p>
+ * Needs a local MySQL; the server URL and credentials default to the Docker Compose setup and
+ * are set with {@code audit.serverUrl}, {@code audit.user} and {@code audit.password}.
+ * Run it with {@code mvn -P plan-audit verify}. Exits with status 1 if any statement or
+ * operation fails.
+ */
+public final class QueryPlanAudit {
+
+    /**
+     * Server to create the audit database on, and the credentials used for everything
+     */
+    private static final String SERVER_URL = System.getProperty("audit.serverUrl",
+            "jdbc:mysql://localhost:3306/?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true");
+    private static final String USER = System.getProperty("audit.user", "root");
+    private static final String PASSWORD = System.getProperty("audit.password", "123456");
+
+    /**
+     * Database recreated for the audit; never the application database
+     */
+    private static final String DATABASE = System.getProperty("audit.database", "systemgp_audit");
+
+    /**
+     * Schema file whose tables are created
+     */
+    private static final Path SCHEMA = Path.of(System.getProperty("audit.schema", "sql/db/dump.sql"));
+
+    /**
+     * Users and projects generated
+     */
+    private static final int ROWS = Integer.getInteger("audit.rows", 100_000);
+
+    /**
+     * Rows an access may scan or sort before the statement fails
+     */
+    private static final long MAX_ROWS = Long.getLong("audit.maxRows", 1_000L);
+
+    /**
+     * Creates and fills the audit database
+     */
+    private static final DatabaseSeeder SEEDER = new DatabaseSeeder(SERVER_URL, USER, PASSWORD, SCHEMA);
+
+    /**
+     * A statement run by an operation.
+     *
+     * @param operation       repository operation that ran it
+     * @param sql             SQL text
+     * @param parameters      values it ran with
+     * @param wholeTableReads tables the operation reads completely by design
+     */
+    private record Recorded(String operation, String sql, List<Object> parameters, Set<String> wholeTableReads) {
+    }
+
+    /**
+     * Distinct statements per operation, in execution order
+     */
+    private final Map<String, Recorded> recorded = new LinkedHashMap<>();
+
+    /**
+     * Operation currently running, and the tables it may read completely
+     */
+    private String operation;
+    private Set<String> wholeTableReads = Set.of();
+
+    /**
+     * Operations that threw, whose statements may not all have been recorded
+     */
+    private int operationFailures;
+
+    private QueryPlanAudit() {
+    }
+
+    /**
+     * Runs the audit.
+     *
+     * @param args unused
+     * @throws Exception if the database cannot be prepared
+     */
+    public static void main(String[] args) throws Exception {
+        QueryPlanAudit audit = new QueryPlanAudit();
+        audit.prepareDatabase();
+
+        // Point the repositories at the audit database before DBConnection is initialized
+        System.setProperty("db.url", SEEDER.databaseUrl(DATABASE) + "&useServerPrepStmts=true&useCursorFetch=true&rewriteBatchedStatements=true");
+        System.setProperty("db.user", USER);
+        System.setProperty("db.password", PASSWORD);
+        DBConnection.getDataSource().setStatementListener(audit::record);
+
+        audit.runOperations();
+        DBConnection.getDataSource().setStatementListener(null);
+
+        int failures = audit.explainAll();
+        if (audit.operationFailures > 0) {
+            System.out.printf("%d operations failed%n", audit.operationFailures);
+        }
+        DBConnection.shutdown();
+        System.exit(failures + audit.operationFailures == 0 ? 0 : 1);
+    }
+
+    // ===========================
+    // Dataset
+    // ===========================
+
+    /**
+     * Recreates the audit database from the schema file and fills it.
+     */
+    private void prepareDatabase() throws SQLException, IOException {
+        long start = System.nanoTime();
+        SEEDER.recreate(DATABASE, ROWS);
+        System.out.printf("Audit database %s filled in %.1fs (%d users, %d projects, %d teams)%n",
+                DATABASE, (System.nanoTime() - start) / 1e9, ROWS, ROWS, DatabaseSeeder.teamCount(ROWS));
+    }
+
+    // ===========================
+    // Operations
+    // ===========================
+
+    /**
+     * Runs every repository operation once, with IDs from the middle of the generated ranges.
+     */
+    private void runOperations() {
+        UserRepository users = new UserRepository();
+        ProjectRepository projects = new ProjectRepository();
+        TeamRepository teams = new TeamRepository();
+        SyncRepository sync = new SyncRepository();
+        int userId = ROWS / 2;
+        int managerId = Math.max(1, ROWS / 40);
+        int teamId = DatabaseSeeder.teamCount(ROWS) / 2 + 1;
+        LocalDate from = LocalDate.of(2023, 1, 1);
+        LocalDate to = LocalDate.of(2023, 1, 31);
+
+        run("DashboardRepository.loadSummary", Set.of("users", "projects", "teams"), () -> new DashboardRepository().loadSummary());
+        Timestamp since = sync.currentSyncPoint();
+
+        // Users
+        run("UserRepository.countUsers", Set.of("users"), users::countUsers);
+        run("UserRepository.findAll", Set.of("users"), users::findAll);
+        run("UserRepository.streamAll", Set.of("users"), () -> users.streamAll(user -> { }));
+        run("UserRepository.findCardPage", Set.of(), () -> {
+            Page<UserCard> first = users.findCardPage(null, 30);
+            users.findCardPage(first.next(), 30);
+        });
+        run("UserRepository.findById", Set.of(), () -> users.findById(userId));
+        run("UserRepository.findByLogin", Set.of(), () -> users.findByLogin("user" + userId));
+        run("UserRepository.findExistingValues", Set.of(), () -> {
+            try {
+                users.findExistingValues("login", List.of("user" + userId, "nobody"));
+                users.findExistingValues("email", List.of("user" + userId + "@example.com", "nobody@example.com"));
+                users.findExistingValues("cpf", List.of(String.format("%011d", userId), "00000000000"));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        User created = new User(0, "Audit User", "99999999999", "audit.user@example.com", UserRole.COLLABORATOR,
+                "audit.user", "pass123");
+        run("UserRepository.saveUser", Set.of(), () -> users.saveUser(created));
+        run("UserRepository.insertHashedUsers", Set.of(), () -> {
+            try {
+                users.insertHashedUsers(List.of(new User(0, "Audit Import", "99999999998", "audit.import@example.com",
+                        UserRole.COLLABORATOR, "audit.import", DatabaseSeeder.PASSWORD_HASH)));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        run("UserRepository.updatePassword", Set.of(), () -> users.updatePassword(userId, DatabaseSeeder.PASSWORD_HASH));
+        run("UserRepository.findCardsChangedSince", Set.of(), () -> users.findCardsChangedSince(since));
+
+        // Projects
+        run("ProjectRepository.countProjects", Set.of("projects"), projects::countProjects);
+        run("ProjectRepository.findAll", Set.of("p"), projects::findAll);
+        run("ProjectRepository.streamAll", Set.of("p"), () -> projects.streamAll(project -> { }));
+        List<ProjectQuery> queries = List.of(
+                ProjectQuery.ALL,
+                ProjectQuery.ALL.withStatuses(Set.of(ProjectStatus.IN_PROGRESS)),
+                ProjectQuery.ALL.withManager(managerId),
+                ProjectQuery.ALL.withManager(managerId).withStatuses(Set.of(ProjectStatus.PLANNED)),
+                ProjectQuery.ALL.withTeam(teamId),
+                ProjectQuery.ALL.sortedBy(ProjectQuery.Sort.START_DATE),
+                ProjectQuery.ALL.withStartBetween(from, to).sortedBy(ProjectQuery.Sort.START_DATE),
+                ProjectQuery.ALL.withEndBetween(from, to).sortedBy(ProjectQuery.Sort.END_DATE));
+        for (ProjectQuery query : queries) {
+            run("ProjectRepository.findCardPage " + describe(query), Set.of(), () -> {
+                Page<ProjectCard> first = projects.findCardPage(query, null, 30);
+                if (first.hasMore()) {
+                    projects.findCardPage(query, first.next(), 30);
+                }
+            });
+        }
+        run("ProjectRepository.findById", Set.of(), () -> projects.findById(userId));
+        Project project = new Project(0, "Audit Project", "Created by the plan audit", "2024-01-01", "2024-12-31",
+                null, ProjectStatus.PLANNED, null, new ArrayList<>());
+        run("ProjectRepository.addProject", Set.of(), () -> projects.addProject(project));
+        run("ProjectRepository.addProjectWithManagerId", Set.of(), () -> projects.addProjectWithManagerId(
+                new Project(0, "Audit Managed Project", null, null, null, null, ProjectStatus.PLANNED, null, new ArrayList<>()),
+                managerId));
+        run("ProjectRepository.updateProject", Set.of(), () -> {
+            project.setStatus(ProjectStatus.IN_PROGRESS);
+            projects.updateProject(project);
+        });
+        run("ProjectRepository.findCardsChangedSince", Set.of(), () -> {
+            projects.findCardsChangedSince(ProjectQuery.ALL, since);
+            projects.findCardsChangedSince(ProjectQuery.ALL.withStatuses(Set.of(ProjectStatus.IN_PROGRESS)), since);
+        });
+
+        // Teams
+        run("TeamRepository.countTeams", Set.of("teams"), teams::countTeams);
+        run("TeamRepository.getAllUsers", Set.of("users"), teams::getAllUsers);
+        run("TeamRepository.getAllProjects", Set.of("projects"), teams::getAllProjects);
+        run("TeamRepository.getAllTeams", Set.of("teams"), teams::getAllTeams);
+        run("TeamRepository.streamAll", Set.of("teams"), () -> teams.streamAll(team -> { }));
+        run("TeamRepository.findCardPage", Set.of(), () -> teams.findCardPage(teams.findCardPage(null, 30).next(), 30));
+        run("TeamRepository.findById", Set.of(), () -> teams.findById(teamId));
+        Team team = new Team(0, "Audit Team", "Created by the plan audit",
+                List.of(users.findById(userId)), List.of(project));
+        run("TeamRepository.addTeam", Set.of(), () -> teams.addTeam(team));
+        run("TeamRepository.findCardsChangedSince", Set.of(), () -> teams.findCardsChangedSince(since));
+
+        // Deletes last, once the rows are no longer needed
+        run("ProjectRepository.removeProject", Set.of(), () -> projects.removeProject(project));
+        run("UserRepository.deleteUser", Set.of(), () -> users.deleteUser(created.getId()));
+    }
+
+    /**
+     * Runs one operation, recording its statements under its name. An operation that throws
+     * counts as a failure, since its remaining statements were never audited.
+     */
+    private void run(String name, Set<String> wholeTables, Runnable call) {
+        operation = name;
+        wholeTableReads = wholeTables;
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            operationFailures++;
+            System.out.println("FAIL  " + name + ": " + e);
+        } finally {
+            operation = null;
+            wholeTableReads = Set.of();
+        }
+    }
+
+    /**
+     * Records a statement execution; only the first execution of each statement per operation is kept.
+     */
+    private synchronized void record(String sql, List<Object> parameters) {
+        String name = operation != null ? operation : "(background)";
+        recorded.putIfAbsent(name + "\n" + sql, new Recorded(name, sql, parameters, wholeTableReads));
+    }
+
+    /**
+     * Short label of a project query for the report.
+     */
+    private static String describe(ProjectQuery query) {
+        List<String> parts = new ArrayList<>();
+        if (!query.statuses().isEmpty()) parts.add("status");
+        if (query.managerId() != null) parts.add("manager");
+        if (query.teamId() != null) parts.add("team");
+        if (query.startFrom() != null || query.startTo() != null) parts.add("start");
+        if (query.endFrom() != null || query.endTo() != null) parts.add("end");
+        return "[" + (parts.isEmpty() ? "all" : String.join("+", parts)) + " by " + query.sort() + "]";
+    }
+
+    // ===========================
+    // Plans
+    // ===========================
+
+    /**
+     * Explains every recorded statement and prints the report.
+     *
+     * @return number of failing statements
+     */
+    private int explainAll() throws SQLException {
+        int failures = 0;
+        try (Connection conn = DriverManager.getConnection(SEEDER.databaseUrl(DATABASE), USER, PASSWORD)) {
+            for (Recorded statement : recorded.values()) {
+                List<String> problems = explain(conn, statement);
+                String sql = statement.sql().replaceAll("\\s+", " ").strip();
+                if (problems.isEmpty()) {
+                    System.out.println("ok    " + statement.operation() + ": " + sql);
+                } else {
+                    failures++;
+                    System.out.println("FAIL  " + statement.operation() + ": " + sql);
+                    for (String problem : problems) {
+                        System.out.println("        " + problem);
+                    }
+                }
+            }
+        }
+        System.out.printf("%d statements explained, %d failed (threshold %d rows)%n", recorded.size(), failures, MAX_ROWS);
+        return failures;
+    }
+
+    /**
+     * Explains one statement.
+     *
+     * @return problems found, empty if the plan is fine
+     */
+    private static List<String> explain(Connection conn, Recorded statement) {
+        List<String> problems = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (int i = 0; i < statement.parameters().size(); i++) {
+                stmt.setObject(i + 1, statement.parameters().get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    String type = rs.getString("type");
+                    long rows = rs.getLong("rows");
+                    String extra = rs.getString("Extra");
+                    boolean scan = "ALL".equals(type) || "index".equals(type);
+                    if (scan && rows > MAX_ROWS && !statement.wholeTableReads().contains(table)) {
+                        problems.add(String.format("%s scan of %s (~%d rows)", "ALL".equals(type) ? "full table" : "full index",
+                                table, rows));
+                    }
+                    if (extra != null && extra.contains("Using filesort") && rows > MAX_ROWS) {
+                        problems.add(String.format("filesort on %s (~%d rows)", table, rows));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            problems.add("EXPLAIN failed: " + e.getMessage());
+        }
+        return problems;
+    }
+}
@@ -1,6 +1,13 @@
 import javafx.application.Application;
 import javafx.stage.Stage;
+import repository.EntityCaches;
+import util.Async;
+import util.DBConnection;
+import util.Logger;
+import util.LoginThrottle;
 import util.NavigationService;
+import util.ScreenCache;
+import util.StartupOrchestrator;
 
 /**
  * Main entry point for the Project Management System JavaFX application.
@@ -15,12 +22,14 @@ public class Main extends Application {
 
     /**
      * Starts the JavaFX application.
-     * Sets the user-agent stylesheet and opens the login view.
+     * Sets the user-agent stylesheet, opens the login view and starts the background warm-up.
      *
      * @param stage the primary stage provided by JavaFX
      */
     @Override
     public void start(Stage stage) {
+        StartupOrchestrator.mark("fx start");
+
         // Set the application-wide CSS theme
         Application.setUserAgentStylesheet("/css/primer-light.css");
 
@@ -33,6 +42,31 @@ public class Main extends Application {
                 false,                            // Stage not resizable
                 false                             // Stage not modal
         );
+        StartupOrchestrator.mark("login shown");
+
+        // Load the driver, connections, layouts and styles while the user types
+        StartupOrchestrator.warmUp();
+    }
+
+    /**
+     * Stops the JavaFX application.
+     * Logs the entity cache hit rates, screen timings and login throttling counters, stops the
+     * background workers and closes the pooled database connections.
+     */
+    @Override
+    public void stop() {
+        EntityCaches.getStats().forEach(stats -> Logger.info(String.format(
+                "Cache %s: %d entries, %d hits, %d misses, %d evictions, hit rate %.1f%%",
+                stats.name(), stats.size(), stats.hits(), stats.misses(), stats.evictions(),
+                stats.hitRate() * 100)));
+        ScreenCache.getStats().forEach(stats -> Logger.info(String.format(
+                "Screen %s: %d loads (last %.1fms), %d cached shows (avg %.1fms)",
+                stats.fxmlPath(), stats.loads(), stats.lastLoadMillis(), stats.shows(), stats.avgShowMillis())));
+        LoginThrottle.ThrottleStats logins = LoginThrottle.getStats();
+        Logger.info(String.format("Logins: %d verified, %d rejected (%d per login, %d per source, %d busy)",
+                logins.allowed(), logins.rejected(), logins.loginLimited(), logins.sourceLimited(), logins.busy()));
+        Async.shutdown();
+        DBConnection.shutdown();
     }
 
     /**
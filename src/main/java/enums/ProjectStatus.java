@@ -1,9 +1,12 @@
 package enums;
 
+import mapping.StoredAs;
+
 // Enum representing the status of a project
 public enum ProjectStatus {
     PLANNED,        // Project is planned but not started
     IN_PROGRESS,    // Project is currently in progress
     COMPLETED,      // Project is finished
-    CANCELLED       // Project was cancelled (matches UK spelling, aligns with FXML)
+    @StoredAs("CANCELED")
+    CANCELLED       // Project was cancelled (matches UK spelling, aligns with FXML; the schema spells it CANCELED)
 }
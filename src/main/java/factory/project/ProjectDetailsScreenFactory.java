@@ -1,12 +1,10 @@
 package factory.project;
 
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
-import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import model.Project;
 import presenter.project.ProjectDetailsPresenterImpl;
+import util.ScreenCache;
 import view.interfaces.project.ProjectDetailsPresenter;
 import view.ui.project.ProjectDetailsViewImpl;
 
@@ -18,12 +16,11 @@ public class ProjectDetailsScreenFactory {
     // Method to show the "Project Details" screen for a given project
     public static void showProjectDetails(Project project) {
         try {
-            // Load the FXML layout for the "Project Details" screen
-            FXMLLoader loader = new FXMLLoader(ProjectDetailsScreenFactory.class.getResource("/view/layouts/project/ProjectDetailsView.fxml"));
-            VBox detailsView = loader.load();
+            // Reuse the "Project Details" screen if it was opened before, otherwise load its FXML layout
+            ScreenCache.Screen<ProjectDetailsViewImpl> screen = ScreenCache.show("/view/layouts/project/ProjectDetailsView.fxml");
 
             // Get the controller associated with the FXML
-            ProjectDetailsViewImpl controller = loader.getController();
+            ProjectDetailsViewImpl controller = screen.getController();
 
             // Create the presenter and link it with the controller
             ProjectDetailsPresenter presenter = new ProjectDetailsPresenterImpl(controller);
@@ -31,11 +28,13 @@ public class ProjectDetailsScreenFactory {
             // Load the project details into the view via the presenter
             presenter.loadProjectDetails(project);
 
-            // Create a new stage (window) for the "Project Details" screen
-            Stage stage = new Stage();
-            stage.setTitle("Project Details"); // Set window title
-            stage.setScene(new Scene(detailsView)); // Set scene with the loaded view
-            stage.initModality(Modality.APPLICATION_MODAL); // Make the window modal (blocks other windows)
+            // Reuse the window of the "Project Details" screen, creating it the first time
+            Stage stage = screen.getStage(() -> {
+                Stage window = new Stage();
+                window.setTitle("Project Details"); // Set window title
+                window.initModality(Modality.APPLICATION_MODAL); // Make the window modal (blocks other windows)
+                return window;
+            });
 
             // Display the window and wait until it is closed
             stage.showAndWait();
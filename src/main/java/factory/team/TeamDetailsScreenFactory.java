@@ -1,11 +1,9 @@
 package factory.team;
 
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
-import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import model.Team;
+import util.ScreenCache;
 import view.ui.team.TeamDetailsViewImpl;
 
 import java.io.IOException;
@@ -16,21 +14,22 @@ public class TeamDetailsScreenFactory {
     // Method to show the "Team Details" screen for a given team
     public static void showTeamDetails(Team team) {
         try {
-            // Load the FXML layout for the "Team Details" screen
-            FXMLLoader loader = new FXMLLoader(TeamDetailsScreenFactory.class.getResource("/view/layouts/team/TeamDetailsView.fxml"));
-            VBox detailsView = loader.load();
+            // Reuse the "Team Details" screen if it was opened before, otherwise load its FXML layout
+            ScreenCache.Screen<TeamDetailsViewImpl> screen = ScreenCache.show("/view/layouts/team/TeamDetailsView.fxml");
 
             // Get the controller associated with the FXML
-            TeamDetailsViewImpl controller = loader.getController();
+            TeamDetailsViewImpl controller = screen.getController();
 
             // Pass the team data to the controller so it can populate the view
             controller.setTeamData(team);
 
-            // Create a new stage (window) for the "Team Details" screen
-            Stage stage = new Stage();
-            stage.setTitle("Team Details"); // Set window title
-            stage.setScene(new Scene(detailsView)); // Set scene with the loaded view
-            stage.initModality(Modality.APPLICATION_MODAL); // Make the window modal (blocks other windows)
+            // Reuse the window of the "Team Details" screen, creating it the first time
+            Stage stage = screen.getStage(() -> {
+                Stage window = new Stage();
+                window.setTitle("Team Details"); // Set window title
+                window.initModality(Modality.APPLICATION_MODAL); // Make the window modal (blocks other windows)
+                return window;
+            });
 
             // Display the window and wait until it is closed
             stage.showAndWait();
@@ -1,12 +1,10 @@
 package factory.user;
 
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
-import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import model.User;
+import util.ScreenCache;
 import view.ui.user.UserDetailsViewImpl;
 
 import java.io.IOException;
@@ -18,21 +16,22 @@ public class UserDetailsScreenFactory {
     // The refreshUsers Runnable is used to update the user list after editing or other actions
     public static void showUserDetails(User user, Runnable refreshUsers) {
         try {
-            // Load the FXML layout for the "User Details" screen
-            FXMLLoader loader = new FXMLLoader(UserDetailsScreenFactory.class.getResource("/view/layouts/user/UserDetailsView.fxml"));
-            VBox detailsView = loader.load();
+            // Reuse the "User Details" screen if it was opened before, otherwise load its FXML layout
+            ScreenCache.Screen<UserDetailsViewImpl> screen = ScreenCache.show("/view/layouts/user/UserDetailsView.fxml");
 
             // Get the controller associated with the FXML
-            UserDetailsViewImpl controller = loader.getController();
+            UserDetailsViewImpl controller = screen.getController();
 
             // Pass the user data and refresh callback to the controller
             controller.setUserData(user, refreshUsers);
 
-            // Create a new stage (window) for the "User Details" screen
-            Stage stage = new Stage();
-            stage.setTitle("User Details"); // Set window title
-            stage.setScene(new Scene(detailsView)); // Set scene with the loaded view
-            stage.initModality(Modality.APPLICATION_MODAL); // Make the window modal (blocks other windows)
+            // Reuse the window of the "User Details" screen, creating it the first time
+            Stage stage = screen.getStage(() -> {
+                Stage window = new Stage();
+                window.setTitle("User Details"); // Set window title
+                window.initModality(Modality.APPLICATION_MODAL); // Make the window modal (blocks other windows)
+                return window;
+            });
 
             // Display the window and wait until it is closed
             stage.showAndWait();
@@ -0,0 +1,22 @@
+package mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a field of a {@link MappedRow} class to a result set column. Columns missing from a
+ * query leave the field at its default value.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Column {
+
+    /**
+     * Column label, matched case-insensitively (the alias if the query renames the column)
+     *
+     * @return column label
+     */
+    String value();
+}
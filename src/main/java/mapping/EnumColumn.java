@@ -0,0 +1,112 @@
+package mapping;
+
+import util.Logger;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts an enum to and from the values stored in a database column, using tables built once
+ * per enum type.
+ * <p>
+ * A constant is stored as its {@link StoredAs} value, or its name if it has none. Reading
+ * accepts both spellings in any case, so a column spelled differently from the enum (the schema's
+ * {@code 'CANCELED'} for {@code ProjectStatus.CANCELLED}) still decodes. Unknown values decode to
+ * null and are logged once.
+ *
+ * @param <E> enum type
+ */
+public final class EnumColumn<E extends Enum<E>> {
+
+    /**
+     * One instance per enum type
+     */
+    private static final ClassValue<EnumColumn<?>> INSTANCES = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumColumn<?> computeValue(Class<?> type) {
+            return new EnumColumn(type);
+        }
+    };
+
+    /**
+     * Enum type, for log messages
+     */
+    private final Class<E> type;
+
+    /**
+     * Constants by accepted spelling (upper-cased), and stored value by constant
+     */
+    private final Map<String, E> byValue = new HashMap<>();
+    private final EnumMap<E, String> stored;
+
+    /**
+     * Unknown values already logged
+     */
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    private EnumColumn(Class<E> type) {
+        this.type = type;
+        this.stored = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            String value = constant.name();
+            try {
+                StoredAs storedAs = type.getField(constant.name()).getAnnotation(StoredAs.class);
+                if (storedAs != null) {
+                    value = storedAs.value();
+                }
+            } catch (NoSuchFieldException e) {
+                // Not possible for a declared constant
+            }
+            stored.put(constant, value);
+            byValue.put(constant.name().toUpperCase(Locale.ROOT), constant);
+            byValue.put(value.toUpperCase(Locale.ROOT), constant);
+        }
+    }
+
+    /**
+     * Returns the converter of an enum type.
+     *
+     * @param type enum class
+     * @param <E>  enum type
+     * @return shared converter
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> EnumColumn<E> of(Class<E> type) {
+        return (EnumColumn<E>) INSTANCES.get(type);
+    }
+
+    /**
+     * Decodes a stored value.
+     *
+     * @param value column value, or null
+     * @return matching constant, or null if the value is null or unknown
+     */
+    public E decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        E constant = byValue.get(value);
+        if (constant == null) {
+            constant = byValue.get(value.toUpperCase(Locale.ROOT));
+        }
+        if (constant == null && reported.add(value)) {
+            Logger.warn("Unknown " + type.getSimpleName() + " value in database: " + value);
+        }
+        return constant;
+    }
+
+    /**
+     * Encodes a constant for storage.
+     *
+     * @param constant constant, or null
+     * @return stored value, or null
+     */
+    public String encode(E constant) {
+        return constant != null ? stored.get(constant) : null;
+    }
+}
@@ -0,0 +1,20 @@
+package mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a model class whose rows are read from the database. At compile time a
+ * {@code <Class>RowMapper} is generated next to it, reading the fields annotated with
+ * {@link Column} through their setters.
+ * <p>
+ * The class needs a public no-argument constructor and a public setter for every mapped field.
+ *
+ * @see mapping.processor.RowMapperProcessor
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface MappedRow {
+}
@@ -0,0 +1,22 @@
+package mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the value an enum constant is stored as, when it differs from the constant's name.
+ * Both the stored value and the name are accepted when reading (see {@link EnumColumn}).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface StoredAs {
+
+    /**
+     * Value written to the database
+     *
+     * @return stored value
+     */
+    String value();
+}
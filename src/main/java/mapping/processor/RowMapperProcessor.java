@@ -0,0 +1,302 @@
+package mapping.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Class>RowMapper} for every class annotated with {@code mapping.MappedRow}.
+ * <p>
+ * A generated mapper looks up the position of each {@code mapping.Column} once per result set,
+ * from its metadata, and then reads every row by index through the typed getters, calling the
+ * setters directly: no column label is looked up per row and nothing is reflected. Enum columns
+ * are decoded through {@code mapping.EnumColumn}.
+ * <p>
+ * Supported field types are {@code int}, {@code long}, {@code boolean}, {@code double}, their
+ * wrappers, {@code String}, {@code LocalDate}, {@code LocalDateTime} and enums. Annotations are
+ * read as mirrors, so the processor does not depend on the classes it processes; it is compiled
+ * on its own before the rest of the sources (see the compiler setup in {@code pom.xml}).
+ */
+@SupportedAnnotationTypes("mapping.MappedRow")
+public class RowMapperProcessor extends AbstractProcessor {
+
+    /**
+     * Annotation types, by qualified name
+     */
+    private static final String MAPPED_ROW = "mapping.MappedRow";
+    private static final String COLUMN = "mapping.Column";
+
+    /**
+     * Expression reading each supported non-enum type, by type name
+     */
+    private static final Map<String, String> GETTERS = Map.ofEntries(
+            Map.entry("int", "rs.getInt(%s)"),
+            Map.entry("long", "rs.getLong(%s)"),
+            Map.entry("boolean", "rs.getBoolean(%s)"),
+            Map.entry("double", "rs.getDouble(%s)"),
+            Map.entry("java.lang.Integer", "rs.getObject(%s, java.lang.Integer.class)"),
+            Map.entry("java.lang.Long", "rs.getObject(%s, java.lang.Long.class)"),
+            Map.entry("java.lang.Boolean", "rs.getObject(%s, java.lang.Boolean.class)"),
+            Map.entry("java.lang.Double", "rs.getObject(%s, java.lang.Double.class)"),
+            Map.entry("java.lang.String", "rs.getString(%s)"),
+            Map.entry("java.time.LocalDate", "rs.getObject(%s, java.time.LocalDate.class)"),
+            Map.entry("java.time.LocalDateTime", "rs.getObject(%s, java.time.LocalDateTime.class)"));
+
+    /**
+     * A mapped field.
+     *
+     * @param name   field name
+     * @param label  lower-cased column label
+     * @param setter setter name
+     * @param read   expression reading the column, with {@code %s} for its index
+     */
+    private record Mapping(String name, String label, String setter, String read) {
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        TypeElement mappedRow = processingEnv.getElementUtils().getTypeElement(MAPPED_ROW);
+        if (mappedRow == null) {
+            return false;
+        }
+        for (Element element : round.getElementsAnnotatedWith(mappedRow)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@MappedRow only applies to classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<Mapping> mappings = mappingsOf(type);
+            if (mappings != null) {
+                write(type, mappings);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the mapped fields of a class, reporting what cannot be mapped.
+     *
+     * @return mappings in declaration order, or null after an error
+     */
+    private List<Mapping> mappingsOf(TypeElement type) {
+        boolean valid = true;
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || !hasPublicNoArgConstructor(type)) {
+            error(type, "@MappedRow class needs to be concrete with a public no-argument constructor");
+            valid = false;
+        }
+
+        Map<String, Mapping> byLabel = new LinkedHashMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            String label = columnLabel(field);
+            if (label == null) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            String read = readExpression(field.asType());
+            if (read == null) {
+                error(field, "Unsupported column type " + field.asType());
+                valid = false;
+            } else if (!hasSetter(type, setter, field.asType())) {
+                error(field, "Mapped field needs a public " + setter + " method");
+                valid = false;
+            } else if (byLabel.putIfAbsent(label, new Mapping(name, label, setter, read)) != null) {
+                error(field, "Column \"" + label + "\" is mapped twice");
+                valid = false;
+            }
+        }
+        return valid ? new ArrayList<>(byLabel.values()) : null;
+    }
+
+    /**
+     * Lower-cased label of the column a field is mapped to, or null if it is not annotated.
+     */
+    private static String columnLabel(VariableElement field) {
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(COLUMN)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : annotation.getElementValues().entrySet()) {
+                if (value.getKey().getSimpleName().contentEquals("value")) {
+                    return value.getValue().getValue().toString().toLowerCase(Locale.ROOT);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Expression reading a column of the given type, or null if the type is not supported.
+     */
+    private String readExpression(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM) {
+            return enumConstant(type) + ".decode(rs.getString(%s))";
+        }
+        return GETTERS.get(processingEnv.getTypeUtils().erasure(type).toString());
+    }
+
+    /**
+     * Name of the static {@code EnumColumn} field of an enum type in a generated mapper.
+     */
+    private static String enumConstant(TypeMirror type) {
+        String simpleName = ((DeclaredType) type).asElement().getSimpleName().toString();
+        return simpleName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT) + "_VALUES";
+    }
+
+    /**
+     * Returns whether a class has a public constructor without parameters.
+     */
+    private static boolean hasPublicNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a class, or a superclass, has a public setter taking the field's type.
+     */
+    private boolean hasSetter(TypeElement type, String name, TypeMirror fieldType) {
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(name)
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && method.getParameters().size() == 1
+                    && processingEnv.getTypeUtils().isAssignable(fieldType, method.getParameters().get(0).asType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the mapper source of a class.
+     */
+    private void write(TypeElement type, List<Mapping> mappings) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String mapperName = type.getSimpleName() + "RowMapper";
+
+        Map<String, String> enumTypes = new LinkedHashMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            TypeMirror fieldType = field.asType();
+            if (columnLabel(field) != null && fieldType.getKind() == TypeKind.DECLARED
+                    && ((DeclaredType) fieldType).asElement().getKind() == ElementKind.ENUM) {
+                enumTypes.put(enumConstant(fieldType), processingEnv.getTypeUtils().erasure(fieldType).toString());
+            }
+        }
+
+        StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("/**\n")
+                .append(" * Reads {@link ").append(typeName).append("} rows from a result set. Column positions are\n")
+                .append(" * looked up once per result set; columns missing from it are left unset.\n")
+                .append(" * <p>\n")
+                .append(" * Generated from the {@code @Column} fields of the model. Not thread-safe: use one mapper per query.\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(RowMapperProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(mapperName).append(" {\n\n");
+
+        for (Map.Entry<String, String> enumType : enumTypes.entrySet()) {
+            src.append("    private static final mapping.EnumColumn<").append(enumType.getValue()).append("> ")
+                    .append(enumType.getKey()).append(" = mapping.EnumColumn.of(")
+                    .append(enumType.getValue()).append(".class);\n");
+        }
+        if (!enumTypes.isEmpty()) {
+            src.append('\n');
+        }
+        src.append("    private java.sql.ResultSet resolvedFor;\n");
+        for (Mapping mapping : mappings) {
+            src.append("    private int ").append(mapping.name()).append("Index;\n");
+        }
+
+        src.append("\n    /**\n")
+                .append("     * Reads the current row.\n")
+                .append("     *\n")
+                .append("     * @param rs result set positioned on a row\n")
+                .append("     * @return new instance holding the row\n")
+                .append("     * @throws java.sql.SQLException if a column cannot be read\n")
+                .append("     */\n")
+                .append("    public ").append(typeName).append(" map(java.sql.ResultSet rs) throws java.sql.SQLException {\n")
+                .append("        if (rs != resolvedFor) {\n")
+                .append("            resolve(rs.getMetaData());\n")
+                .append("            resolvedFor = rs;\n")
+                .append("        }\n")
+                .append("        ").append(typeName).append(" row = new ").append(typeName).append("();\n");
+        for (Mapping mapping : mappings) {
+            String index = mapping.name() + "Index";
+            src.append("        if (").append(index).append(" > 0) {\n")
+                    .append("            row.").append(mapping.setter()).append('(')
+                    .append(String.format(mapping.read(), index)).append(");\n")
+                    .append("        }\n");
+        }
+        src.append("        return row;\n")
+                .append("    }\n\n");
+
+        src.append("    private void resolve(java.sql.ResultSetMetaData meta) throws java.sql.SQLException {\n");
+        for (Mapping mapping : mappings) {
+            src.append("        ").append(mapping.name()).append("Index = 0;\n");
+        }
+        src.append("        // Backwards, so the first of two columns with the same label wins\n")
+                .append("        for (int i = meta.getColumnCount(); i >= 1; i--) {\n")
+                .append("            switch (meta.getColumnLabel(i).toLowerCase(java.util.Locale.ROOT)) {\n");
+        for (Mapping mapping : mappings) {
+            src.append("                case \"").append(mapping.label()).append("\" -> ")
+                    .append(mapping.name()).append("Index = i;\n");
+        }
+        src.append("                default -> {\n")
+                .append("                }\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedMapper = packageName.isEmpty() ? mapperName : packageName + "." + mapperName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedMapper, type).openWriter()) {
+            writer.write(src.toString());
+        } catch (IOException e) {
+            error(type, "Could not write " + qualifiedMapper + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reports a compile error on an element.
+     */
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
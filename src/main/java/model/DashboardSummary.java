@@ -0,0 +1,23 @@
+package model;
+
+/**
+ * Totals shown on the dashboard.
+ *
+ * @param users    number of users
+ * @param projects number of projects
+ * @param teams    number of teams
+ */
+public record DashboardSummary(int users, int projects, int teams) {
+
+    /**
+     * Returns a copy with the counts shifted by the given deltas.
+     *
+     * @param userDelta    change in users
+     * @param projectDelta change in projects
+     * @param teamDelta    change in teams
+     * @return adjusted summary
+     */
+    public DashboardSummary plus(int userDelta, int projectDelta, int teamDelta) {
+        return new DashboardSummary(users + userDelta, projects + projectDelta, teams + teamDelta);
+    }
+}
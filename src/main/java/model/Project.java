@@ -1,6 +1,8 @@
 package model;
 
 import enums.ProjectStatus;
+import mapping.Column;
+import mapping.MappedRow;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,35 +14,47 @@ import java.util.List;
  * a status, a manager, and a list of associated teams.
  * This class provides constructors, getters, setters, and helper methods to add/remove teams.
  */
+@MappedRow
 public class Project {
 
     // Unique identifier for the project
+    @Column("id")
     private int id;
 
     // Name of the project
+    @Column("name")
     private String name;
 
     // Description of the project
+    @Column("description")
     private String description;
 
     // Project start date (stored as String for simplicity)
+    @Column("start_date")
     private String startDate;
 
     // Planned end date for the project
+    @Column("expected_end_date")
     private String plannedEndDate;
 
     // Actual end date of the project
     private String actualEndDate;
 
     // Current status of the project (PLANNED, IN_PROGRESS, COMPLETED, CANCELLED)
+    @Column("status")
     private ProjectStatus status;
 
     // Name of the project manager
+    @Column("manager_name")
     private String manager;
 
     // List of teams associated with this project
     private List<Team> teams = new ArrayList<>();
 
+    // Row version, incremented by the database on every change (0 if not loaded)
+    @Column("row_version")
+    private long version;
+
     /**
      * Default constructor.
      * Initializes an empty teams list.
@@ -162,6 +176,14 @@ public class Project {
         this.teams = teams != null ? teams : new ArrayList<>();
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     // ===========================
     // Helper Methods
     // ===========================
@@ -0,0 +1,23 @@
+package model;
+
+import enums.ProjectStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Columns of a project shown on a list card. The description is truncated by the database,
+ * and the teams are not loaded; the full {@link Project} is loaded only when its details
+ * are opened.
+ *
+ * @param id          project ID
+ * @param name        project name
+ * @param description start of the description, ending with "…" if truncated, or null
+ * @param status      status, or null if missing
+ * @param manager     manager's name, or null if none
+ * @param startDate   start date, or null if not set
+ * @param endDate     expected end date, or null if not set
+ * @param version     row version
+ */
+public record ProjectCard(int id, String name, String description, ProjectStatus status, String manager,
+                          LocalDate startDate, LocalDate endDate, long version) {
+}
@@ -1,5 +1,8 @@
 package model;
 
+import mapping.Column;
+import mapping.MappedRow;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,15 +14,19 @@ import java.util.List;
  * This class provides constructors, getters, setters, and methods
  * to add/remove members.
  */
+@MappedRow
 public class Team {
 
     // Unique identifier for the team
+    @Column("id")
     private int id;
 
     // Name of the team
+    @Column("name")
     private String name;
 
     // Description or additional info about the team
+    @Column("description")
     private String description;
 
     // List of users who are members of the team
@@ -28,6 +35,10 @@ public class Team {
     // List of projects that the team is assigned to
     private List<Project> projects = new ArrayList<>();
 
+    // Row version, incremented by the database on every change (0 if not loaded)
+    @Column("row_version")
+    private long version;
+
     /**
      * Default constructor.
      * Initializes empty lists for members and projects.
@@ -108,6 +119,14 @@ public class Team {
         this.projects = projects != null ? projects : new ArrayList<>();
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     // ===========================
     // Helper Methods
     // ===========================
@@ -0,0 +1,14 @@
+package model;
+
+/**
+ * Columns of a team shown on a list card. The description is truncated by the database,
+ * and members and projects are not loaded; the full {@link Team} is loaded only when its
+ * details are opened.
+ *
+ * @param id          team ID
+ * @param name        team name
+ * @param description start of the description, ending with "…" if truncated, or null
+ * @param version     row version
+ */
+public record TeamCard(int id, String name, String description, long version) {
+}
@@ -1,6 +1,8 @@
 package model;
 
 import enums.UserRole;
+import mapping.Column;
+import mapping.MappedRow;
 
 /**
  * Model class representing a User.
@@ -9,29 +11,41 @@ import enums.UserRole;
  * This class provides constructors, getters, setters, and a toString method
  * for display purposes.
  */
+@MappedRow
 public class User {
 
     // Unique identifier for the user
+    @Column("id")
     private int id;
 
     // Full name of the user
+    @Column("full_name")
     private String name;
 
     // CPF (Cadastro de Pessoas Físicas) of the user, unique personal identifier in Brazil
+    @Column("cpf")
     private String cpf;
 
     // Email address of the user
+    @Column("email")
     private String email;
 
     // Role of the user (ADMINISTRATOR, MANAGER, COLLABORATOR)
+    @Column("role")
     private UserRole role;
 
     // Login username for authentication
+    @Column("login")
     private String login;
 
     // Password for authentication
+    @Column("password")
     private String password;
 
+    // Row version, incremented by the database on every change (0 if not loaded)
+    @Column("row_version")
+    private long version;
+
     /**
      * Full constructor with all fields.
      *
@@ -129,4 +143,12 @@ public class User {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
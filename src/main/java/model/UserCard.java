@@ -0,0 +1,17 @@
+package model;
+
+import enums.UserRole;
+
+/**
+ * Columns of a user shown on a list card. Read by a projection query, so list screens
+ * never load CPFs, logins or password hashes; the full {@link User} is loaded only when
+ * its details are opened.
+ *
+ * @param id      user ID
+ * @param name    full name
+ * @param email   email address
+ * @param role    role, or null if missing
+ * @param version row version
+ */
+public record UserCard(int id, String name, String email, UserRole role, long version) {
+}
@@ -2,7 +2,10 @@ package presenter;
 
 import model.User;
 import repository.UserRepository;
+import util.Async;
 import util.Logger;
+import util.LoginThrottle;
+import util.PasswordHasher;
 import util.Session;
 import view.interfaces.LoginView;
 
@@ -17,35 +20,104 @@ import view.interfaces.LoginView;
  */
 public record LoginPresenter(LoginView view, UserRepository repo) {
 
+    /**
+     * Source of attempts made in this desktop client: the local operating system account
+     */
+    private static final String SOURCE = "local:" + System.getProperty("user.name");
+
+    /**
+     * Outcome of a login attempt.
+     *
+     * @param verdict throttle verdict
+     * @param user    authenticated user, or null
+     */
+    private record Attempt(LoginThrottle.Verdict verdict, User user) {
+    }
+
     /**
      * Handles the login process when the user submits their credentials.
-     * Validates input, checks password, updates session, and interacts with the view.
+     * The credentials are read on the JavaFX thread; the lookup and the BCrypt check run in
+     * the background, within the {@link LoginThrottle} limits, while the view shows a progress
+     * indicator, and the view is updated back on the JavaFX thread. If the stored hash uses
+     * another work factor than the current target, it is replaced in the background after the
+     * login succeeds.
      */
     public void handleLogin() {
         // Retrieve login and password from the view
         String loginInput = view.getLogin();
         String passwordInput = view.getPassword();
+        view.setBusy(true);
+
+        // Find the user and verify the password off the UI thread, within the throttle limits
+        Async.onFx(Async.supply(() -> attempt(loginInput, passwordInput)), attempt -> {
+            view.setBusy(false);
+            User user = attempt.user();
+            if (attempt.verdict() != LoginThrottle.Verdict.ALLOWED) {
+                Logger.warn("Login attempt throttled (" + attempt.verdict() + "): " + loginInput);
+                view.showError(attempt.verdict() == LoginThrottle.Verdict.BUSY
+                        ? "The server is busy. Please try again in a moment."
+                        : "Too many login attempts. Please wait a minute and try again.");
+            } else if (user != null) {
+                // Log successful login
+                Logger.info("Login successful: " + loginInput);
 
-        // Find the user in the repository by login
-        User user = repo.findByLogin(loginInput);
+                // Store the logged-in user in session
+                Session.setLoggedUser(user);
 
-        // Validate credentials
-        if (user != null && repo.checkPassword(user, passwordInput)) {
-            // Log successful login
-            Logger.info("Login successful: " + loginInput);
+                // Notify the view and navigate to the user interface
+                view.showSuccess("Welcome, " + user.getName() + "!");
+                view.openUserView();
+            } else {
+                // Log failed login attempt
+                Logger.warn("Invalid login attempt: " + loginInput);
 
-            // Store the logged-in user in session
-            Session.setLoggedUser(user);
+                // Notify the view about invalid credentials
+                view.showError("Invalid username or password.");
+            }
+        }, error -> {
+            view.setBusy(false);
+            Logger.error("Login failed for " + loginInput + ": " + error.getMessage());
+            view.showError("Could not verify your credentials. Please try again.");
+        });
+    }
 
-            // Notify the view and navigate to the user interface
-            view.showSuccess("Welcome, " + user.getName() + "!");
-            view.openUserView();
-        } else {
-            // Log failed login attempt
-            Logger.warn("Invalid login attempt: " + loginInput);
+    /**
+     * Verifies credentials if the throttle admits the attempt. Runs in the background.
+     *
+     * @param login         login entered
+     * @param plainPassword password entered
+     * @return throttle verdict and the user if the credentials are valid
+     */
+    private Attempt attempt(String login, String plainPassword) {
+        LoginThrottle.Verdict verdict = LoginThrottle.acquire(login, SOURCE);
+        if (verdict != LoginThrottle.Verdict.ALLOWED) {
+            return new Attempt(verdict, null);
+        }
+        try {
+            User user = repo.findByLogin(login);
+            if (user == null || !repo.checkPassword(user, plainPassword)) {
+                return new Attempt(verdict, null);
+            }
+            if (PasswordHasher.needsRehash(user.getPassword())) {
+                Async.runDetached(() -> rehash(user, plainPassword));
+            }
+            return new Attempt(verdict, user);
+        } finally {
+            LoginThrottle.release();
+        }
+    }
 
-            // Notify the view about invalid credentials
-            view.showError("Invalid username or password.");
+    /**
+     * Stores a new hash of a verified password with the current work factor.
+     *
+     * @param user          user whose password was just verified
+     * @param plainPassword verified plain text password
+     */
+    private void rehash(User user, String plainPassword) {
+        String hash = PasswordHasher.hash(plainPassword);
+        if (repo.updatePassword(user.getId(), hash)) {
+            user.setPassword(hash);
+            Logger.info("Password hash of " + user.getLogin() + " upgraded to cost " + PasswordHasher.getTargetCost());
         }
     }
 }
@@ -0,0 +1,65 @@
+package presenter;
+
+import service.SearchIndex.Hit;
+import service.SearchService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Presenter for the dashboard search box.
+ * <p>
+ * Only the latest query matters: starting a query cancels the previous one, which stops
+ * scanning the index at its next cancellation check.
+ */
+public class SearchPresenter {
+
+    /**
+     * Maximum number of results shown
+     */
+    private static final int MAX_RESULTS = Integer.getInteger("search.maxResults", 20);
+
+    /**
+     * Number of the latest query; older queries see a different number and stop
+     */
+    private final AtomicLong latest = new AtomicLong();
+
+    /**
+     * Future of the latest query, or null
+     */
+    private CompletableFuture<List<Hit>> pending;
+
+    /**
+     * Starts loading the search index in the background, so the first query is fast.
+     */
+    public void preload() {
+        SearchService.ensureLoaded();
+    }
+
+    /**
+     * Searches users, projects and teams on a background thread, cancelling the previous query.
+     *
+     * @param query text typed by the user
+     * @return future completed with the matches
+     */
+    public CompletableFuture<List<Hit>> search(String query) {
+        long number = latest.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = SearchService.search(query, MAX_RESULTS, () -> latest.get() != number);
+        return pending;
+    }
+
+    /**
+     * Cancels the running query, if any.
+     */
+    public void cancel() {
+        latest.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+}
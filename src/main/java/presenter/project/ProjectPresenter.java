@@ -1,9 +1,17 @@
 package presenter.project;
 
 import model.Project;
+import model.ProjectCard;
+import repository.Page;
+import repository.PageCursor;
+import repository.ProjectQuery;
 import repository.ProjectRepository;
+import repository.SyncRepository;
+import service.ModelStore;
+import util.Async;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Presenter class for managing projects.
@@ -62,4 +70,82 @@ public record ProjectPresenter(ProjectRepository projectRepository) {
     public Project getProjectById(int projectId) {
         return projectRepository.findById(projectId);
     }
+
+    /**
+     * Retrieves one page of the project cards matching a query.
+     *
+     * @param query filters and sort key
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit maximum number of projects to return
+     * @return page of project cards
+     */
+    public Page<ProjectCard> getProjectsPage(ProjectQuery query, PageCursor after, int limit) {
+        return projectRepository.findCardPage(query, after, limit);
+    }
+
+    /**
+     * Retrieves one page of the project cards matching a query on a background thread.
+     *
+     * @param query filters and sort key
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit maximum number of projects to return
+     * @return future completed with the page
+     */
+    public CompletableFuture<Page<ProjectCard>> getProjectsPageAsync(ProjectQuery query, PageCursor after, int limit) {
+        return Async.supply(() -> projectRepository.findCardPage(query, after, limit));
+    }
+
+    /**
+     * Retrieves one page of the project cards matching a query on a background thread. When
+     * loading the first page, the store starts tracking changes from this moment.
+     *
+     * @param query filters and sort key; must be the one the store was created for
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit maximum number of projects to return
+     * @param store store keeping the displayed projects up to date
+     * @return future completed with the page
+     */
+    public CompletableFuture<Page<ProjectCard>> getProjectsPageAsync(ProjectQuery query, PageCursor after, int limit,
+                                                                     ModelStore<ProjectCard> store) {
+        return Async.supply(() -> {
+            if (after == null) {
+                store.track();
+            }
+            return projectRepository.findCardPage(query, after, limit);
+        });
+    }
+
+    /**
+     * Creates a store that keeps the displayed cards of a query up to date from delta changes,
+     * in the same order as the pages. Projects that stop matching the query are removed.
+     *
+     * @param query filters and sort key of the displayed list
+     * @return new store
+     */
+    public ModelStore<ProjectCard> newProjectStore(ProjectQuery query) {
+        return new ModelStore<>(since -> projectRepository.findCardsChangedSince(query, since),
+                new SyncRepository()::currentSyncPoint, ProjectCard::id, query.order());
+    }
+
+    /**
+     * Applies the project changes since the last load to the displayed project cards on a background thread.
+     *
+     * @param store     store tracking the displayed projects
+     * @param displayed project cards currently displayed, in page order
+     * @param complete  true if every page has been loaded
+     * @return future completed with the updated list, or with null if the changes could not be read
+     */
+    public CompletableFuture<List<ProjectCard>> pullProjectChangesAsync(ModelStore<ProjectCard> store, List<ProjectCard> displayed, boolean complete) {
+        return Async.supply(() -> store.pullInto(displayed, complete));
+    }
+
+    /**
+     * Loads the full project, for its details screen, on a background thread.
+     *
+     * @param projectId ID of the project
+     * @return future completed with the project, or with null if it no longer exists
+     */
+    public CompletableFuture<Project> getProjectAsync(int projectId) {
+        return Async.supply(() -> projectRepository.findById(projectId));
+    }
 }
@@ -51,7 +51,10 @@ public record TeamAddPresenterImpl(
         newTeam.setProjects(projects);
 
         // Save the new team using the repository
-        teamRepository.addTeam(newTeam);
+        if (!teamRepository.addTeam(newTeam)) {
+            view.showErrorMessage("Error saving team.");
+            return;
+        }
 
         // Notify the view and clear the form
         view.showSuccessMessage("Team created successfully!");
@@ -2,10 +2,19 @@ package presenter.team;
 
 import model.Project;
 import model.Team;
+import model.TeamCard;
 import model.User;
+import repository.Page;
+import repository.PageCursor;
+import repository.SyncRepository;
 import repository.TeamRepository;
+import service.ModelStore;
+import util.Async;
+import util.NameOrder;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Presenter class for managing teams.
@@ -48,8 +57,82 @@ public record TeamPresenter(TeamRepository teamRepository) {
      * Adds a new team to the repository.
      *
      * @param team Team object to add
+     * @return true if the team was created, false otherwise
      */
-    public void addTeam(Team team) {
-        teamRepository.addTeam(team);
+    public boolean addTeam(Team team) {
+        return teamRepository.addTeam(team);
+    }
+
+    /**
+     * Retrieves one page of team cards ordered by name.
+     *
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit maximum number of teams to return
+     * @return page of team cards
+     */
+    public Page<TeamCard> getTeamsPage(PageCursor after, int limit) {
+        return teamRepository.findCardPage(after, limit);
+    }
+
+    /**
+     * Retrieves one page of team cards ordered by name on a background thread.
+     *
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit maximum number of teams to return
+     * @return future completed with the page
+     */
+    public CompletableFuture<Page<TeamCard>> getTeamsPageAsync(PageCursor after, int limit) {
+        return Async.supply(() -> teamRepository.findCardPage(after, limit));
+    }
+
+    /**
+     * Retrieves one page of team cards on a background thread. When loading the first page,
+     * the store starts tracking changes from this moment.
+     *
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit maximum number of teams to return
+     * @param store store keeping the displayed teams up to date
+     * @return future completed with the page
+     */
+    public CompletableFuture<Page<TeamCard>> getTeamsPageAsync(PageCursor after, int limit, ModelStore<TeamCard> store) {
+        return Async.supply(() -> {
+            if (after == null) {
+                store.track();
+            }
+            return teamRepository.findCardPage(after, limit);
+        });
+    }
+
+    /**
+     * Creates a store that keeps displayed team cards up to date from delta changes,
+     * in the same order as the pages (name, then ID).
+     *
+     * @return new store
+     */
+    public ModelStore<TeamCard> newTeamStore() {
+        return new ModelStore<>(teamRepository::findCardsChangedSince, new SyncRepository()::currentSyncPoint, TeamCard::id,
+                Comparator.comparing(TeamCard::name, NameOrder.COMPARATOR).thenComparingInt(TeamCard::id));
+    }
+
+    /**
+     * Applies the team changes since the last load to the displayed team cards on a background thread.
+     *
+     * @param store     store tracking the displayed teams
+     * @param displayed team cards currently displayed, in page order
+     * @param complete  true if every page has been loaded
+     * @return future completed with the updated list, or with null if the changes could not be read
+     */
+    public CompletableFuture<List<TeamCard>> pullTeamChangesAsync(ModelStore<TeamCard> store, List<TeamCard> displayed, boolean complete) {
+        return Async.supply(() -> store.pullInto(displayed, complete));
+    }
+
+    /**
+     * Loads the full team, for its details screen, on a background thread.
+     *
+     * @param teamId ID of the team
+     * @return future completed with the team, or with null if it no longer exists
+     */
+    public CompletableFuture<Team> getTeamAsync(int teamId) {
+        return Async.supply(() -> teamRepository.findById(teamId));
     }
 }
@@ -1,9 +1,25 @@
 package presenter.user;
 
 import model.User;
+import model.UserCard;
+import repository.Page;
+import repository.PageCursor;
+import repository.SyncRepository;
 import repository.UserRepository;
+import service.ModelStore;
+import service.UserImportService;
+import service.UserImportService.ImportProgress;
+import service.UserImportService.ImportReport;
+import util.Async;
+import util.NameOrder;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Presenter class for managing users.
@@ -32,4 +48,91 @@ public record UserPresenter(UserRepository repo) {
     public boolean deleteUser(int userId) {
         return repo.deleteUser(userId);
     }
+
+    /**
+     * Retrieves one page of user cards ordered by name.
+     *
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit maximum number of users to return
+     * @return page of user cards
+     */
+    public Page<UserCard> getUsersPage(PageCursor after, int limit) {
+        return repo.findCardPage(after, limit);
+    }
+
+    /**
+     * Imports users in bulk from a CSV or JSON file.
+     * Blocks until the import finishes, so it must not be called on the JavaFX thread.
+     *
+     * @param file     file to import
+     * @param progress receives progress updates while importing
+     * @return import summary
+     * @throws IOException  if the file cannot be read
+     * @throws SQLException if the existing users cannot be checked
+     */
+    public ImportReport importUsers(Path file, Consumer<ImportProgress> progress) throws IOException, SQLException {
+        return new UserImportService(repo).importFile(file, progress);
+    }
+
+    /**
+     * Retrieves one page of user cards ordered by name on a background thread.
+     *
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit maximum number of users to return
+     * @return future completed with the page
+     */
+    public CompletableFuture<Page<UserCard>> getUsersPageAsync(PageCursor after, int limit) {
+        return Async.supply(() -> repo.findCardPage(after, limit));
+    }
+
+    /**
+     * Retrieves one page of user cards on a background thread. When loading the first page,
+     * the store starts tracking changes from this moment.
+     *
+     * @param after cursor of the previous page, or null for the first page
+     * @param limit maximum number of users to return
+     * @param store store keeping the displayed users up to date
+     * @return future completed with the page
+     */
+    public CompletableFuture<Page<UserCard>> getUsersPageAsync(PageCursor after, int limit, ModelStore<UserCard> store) {
+        return Async.supply(() -> {
+            if (after == null) {
+                store.track();
+            }
+            return repo.findCardPage(after, limit);
+        });
+    }
+
+    /**
+     * Creates a store that keeps displayed user cards up to date from delta changes,
+     * in the same order as the pages (name, then ID).
+     *
+     * @return new store
+     */
+    public ModelStore<UserCard> newUserStore() {
+        return new ModelStore<>(repo::findCardsChangedSince, new SyncRepository()::currentSyncPoint, UserCard::id,
+                Comparator.comparing(UserCard::name, NameOrder.COMPARATOR).thenComparingInt(UserCard::id));
+    }
+
+    /**
+     * Applies the user changes since the last load to the displayed user cards on a background thread.
+     *
+     * @param store     store tracking the displayed users
+     * @param displayed user cards currently displayed, in page order
+     * @param complete  true if every page has been loaded
+     * @return future completed with the updated list, or with null if the changes could not be read
+     */
+    public CompletableFuture<List<UserCard>> pullUserChangesAsync(ModelStore<UserCard> store, List<UserCard> displayed, boolean complete) {
+        return Async.supply(() -> store.pullInto(displayed, complete));
+    }
+
+    /**
+     * Loads the full user, for its details screen, on a background thread.
+     *
+     * @param userId ID of the user
+     * @return future completed with the user, or with null if it no longer exists
+     */
+    public CompletableFuture<User> getUserAsync(int userId) {
+        return Async.supply(() -> repo.findById(userId));
+    }
 }
@@ -0,0 +1,94 @@
+package repository;
+
+import util.IntObjectMap;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Loads one-to-many / many-to-many associations for a whole set of parent rows at once.
+ * <p>
+ * Instead of running one query per parent (N+1), the parent ids are sent in chunked
+ * {@code IN (...)} lists and the child rows are grouped in memory by parent id.
+ * The number of queries depends only on the chunk count, not on the number of rows.
+ */
+class AssociationLoader {
+
+    /**
+     * Maximum number of ids per IN-list.
+     * The last chunk is padded to this size so every chunk uses the same (cached) SQL text.
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private AssociationLoader() {
+    }
+
+    /**
+     * Loads the children of all given parents and groups them by parent id.
+     *
+     * @param conn         connection to run the queries on
+     * @param sqlTemplate  SELECT with a {@code %s} placeholder for the IN-list of parent ids;
+     *                     it must return the parent id in a column named {@code parent_id}
+     * @param parentIds    ids of the parent rows (duplicates are ignored)
+     * @param reader       maps a child row
+     * @param <T>          child type
+     * @return children indexed by parent id; parents without children have no entry
+     * @throws SQLException if a database error occurs
+     */
+    static <T> IntObjectMap<List<T>> load(Connection conn, String sqlTemplate, int[] parentIds,
+                                          RowReader<T> reader) throws SQLException {
+        IntObjectMap<List<T>> byParent = new IntObjectMap<>(parentIds.length);
+        if (parentIds.length == 0) {
+            return byParent;
+        }
+
+        int chunkSize = Math.min(CHUNK_SIZE, parentIds.length);
+        String sql = String.format(sqlTemplate, placeholders(chunkSize));
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int from = 0; from < parentIds.length; from += chunkSize) {
+                int to = Math.min(from + chunkSize, parentIds.length);
+                for (int i = 0; i < chunkSize; i++) {
+                    // Pad the last chunk by repeating its last id
+                    stmt.setInt(i + 1, parentIds[Math.min(from + i, to - 1)]);
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        int parentId = rs.getInt("parent_id");
+                        byParent.computeIfAbsent(parentId, id -> new ArrayList<>()).add(reader.read(rs));
+                    }
+                }
+            }
+        }
+
+        return byParent;
+    }
+
+    /**
+     * Returns the children of a parent, or a new empty list if it has none.
+     *
+     * @param byParent result of {@link #load}
+     * @param parentId parent id
+     * @param <T>      child type
+     * @return mutable list of children
+     */
+    static <T> List<T> childrenOf(IntObjectMap<List<T>> byParent, int parentId) {
+        List<T> children = byParent.get(parentId);
+        return children != null ? children : new ArrayList<>();
+    }
+
+    /**
+     * Builds a "?, ?, ..." placeholder list.
+     */
+    private static String placeholders(int count) {
+        String[] marks = new String[count];
+        Arrays.fill(marks, "?");
+        return String.join(", ", marks);
+    }
+}
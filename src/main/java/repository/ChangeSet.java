@@ -0,0 +1,24 @@
+package repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Rows of one table that changed since a sync point.
+ *
+ * @param changed    rows inserted or updated since the sync point
+ * @param deletedIds IDs of rows deleted since the sync point
+ * @param syncedAt   server time to pass as the next sync point
+ * @param <T>        row type
+ */
+public record ChangeSet<T>(List<T> changed, List<Integer> deletedIds, Timestamp syncedAt) {
+
+    /**
+     * Returns whether nothing changed.
+     *
+     * @return true if there are no changed or deleted rows
+     */
+    public boolean isEmpty() {
+        return changed.isEmpty() && deletedIds.isEmpty();
+    }
+}
@@ -0,0 +1,45 @@
+package repository;
+
+import model.DashboardSummary;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Repository for the aggregated numbers shown on the dashboard.
+ */
+public class DashboardRepository {
+
+    /**
+     * Counts users, projects and teams in one statement (one round trip, one consistent read)
+     */
+    private static final String SUMMARY_SQL = """
+            SELECT (SELECT COUNT(*) FROM users)    AS users,
+                   (SELECT COUNT(*) FROM projects) AS projects,
+                   (SELECT COUNT(*) FROM teams)    AS teams
+            """;
+
+    /**
+     * Loads the current totals.
+     *
+     * @return dashboard totals, or null if the query failed
+     */
+    public DashboardSummary loadSummary() {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SUMMARY_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+
+            if (rs.next()) {
+                return new DashboardSummary(rs.getInt("users"), rs.getInt("projects"), rs.getInt("teams"));
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+package repository;
+
+import model.Project;
+import model.Team;
+import model.User;
+import util.EntityCache;
+import util.EntityCache.CacheStats;
+
+import java.util.List;
+
+/**
+ * Entity caches shared by all repository instances.
+ * <p>
+ * Views create new repositories every time a screen is opened, so the caches live here
+ * instead of in the repositories. Sizes and lifetimes come from system properties
+ * ({@code cache.entity.maxSize}, {@code cache.entity.ttlMillis}).
+ */
+public final class EntityCaches {
+
+    /**
+     * Maximum number of entries per cache
+     */
+    private static final int MAX_SIZE = Integer.getInteger("cache.entity.maxSize", 1_000);
+
+    /**
+     * Time after which a cached entity is reloaded
+     */
+    private static final long TTL_MILLIS = Long.getLong("cache.entity.ttlMillis", 60_000L);
+
+    /**
+     * Users by ID and by login
+     */
+    static final EntityCache<Integer, User> USERS = new EntityCache<>("users", MAX_SIZE, TTL_MILLIS);
+    static final EntityCache<String, User> USERS_BY_LOGIN = new EntityCache<>("usersByLogin", MAX_SIZE, TTL_MILLIS);
+
+    /**
+     * Projects by ID, including their teams
+     */
+    static final EntityCache<Integer, Project> PROJECTS = new EntityCache<>("projects", MAX_SIZE, TTL_MILLIS);
+
+    /**
+     * Teams by ID, including their members and projects
+     */
+    static final EntityCache<Integer, Team> TEAMS = new EntityCache<>("teams", MAX_SIZE, TTL_MILLIS);
+
+    private EntityCaches() {
+    }
+
+    /**
+     * Drops every cached user entry of a user, by ID and by login.
+     *
+     * @param userId user ID
+     */
+    static void invalidateUser(int userId) {
+        USERS.invalidate(userId);
+        USERS_BY_LOGIN.invalidateIf(user -> user.getId() == userId);
+    }
+
+    /**
+     * Returns the counters of all entity caches.
+     *
+     * @return stats per cache
+     */
+    public static List<CacheStats> getStats() {
+        return List.of(USERS.getStats(), USERS_BY_LOGIN.getStats(), PROJECTS.getStats(), TEAMS.getStats());
+    }
+
+    /**
+     * Clears all entity caches.
+     */
+    public static void clear() {
+        USERS.invalidateAll();
+        USERS_BY_LOGIN.invalidateAll();
+        PROJECTS.invalidateAll();
+        TEAMS.invalidateAll();
+    }
+}
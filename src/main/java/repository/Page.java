@@ -0,0 +1,42 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * @param items rows of this page, in list order
+ * @param next  cursor to fetch the following page, or null if this is the last page
+ * @param <T>   row type
+ */
+public record Page<T>(List<T> items, PageCursor next) {
+
+    /**
+     * Whether more rows exist after this page.
+     *
+     * @return true if {@link #next()} can be used to fetch another page
+     */
+    public boolean hasMore() {
+        return next != null;
+    }
+
+    /**
+     * Builds a page from a result fetched with {@code limit + 1} rows.
+     * The extra row only signals that another page exists and is dropped.
+     *
+     * @param rows     fetched rows (at most {@code limit + 1})
+     * @param limit    requested page size
+     * @param cursorOf builds the cursor for a row
+     * @param <T>      row type
+     * @return page with at most {@code limit} rows
+     */
+    static <T> Page<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new Page<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,14 @@
+package repository;
+
+/**
+ * Position of the last row of a page, used for keyset pagination.
+ * <p>
+ * Lists are ordered by a sort key (e.g. the name) with the id as tie-breaker,
+ * so the next page is fetched with an indexed {@code WHERE (sort_key, id) > (?, ?)} seek
+ * instead of an OFFSET that has to skip all previous rows.
+ *
+ * @param lastId      id of the last row on the previous page
+ * @param lastSortKey sort key of the last row on the previous page
+ */
+public record PageCursor(int lastId, String lastSortKey) {
+}
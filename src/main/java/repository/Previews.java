@@ -0,0 +1,49 @@
+package repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Truncates long text columns in the database for list cards, so the full TEXT value is
+ * neither sent over the wire nor kept on the heap for every row.
+ * <p>
+ * Columns are cut to {@code cards.descriptionLength} characters (default 120). One extra
+ * character is selected to tell whether the text was cut, in which case "…" is appended.
+ */
+final class Previews {
+
+    /**
+     * Maximum number of characters shown on a card
+     */
+    static final int LENGTH = Integer.getInteger("cards.descriptionLength", 120);
+
+    private Previews() {
+    }
+
+    /**
+     * Returns a select expression reading the start of a text column.
+     *
+     * @param column column name, optionally qualified
+     * @param alias  name of the result column
+     * @return SQL select expression
+     */
+    static String select(String column, String alias) {
+        return "LEFT(" + column + ", " + (LENGTH + 1) + ") AS " + alias;
+    }
+
+    /**
+     * Reads a column selected with {@link #select(String, String)}.
+     *
+     * @param rs     result set positioned on a row
+     * @param column position of the column in the result set
+     * @return text of at most {@link #LENGTH} characters followed by "…" if it was cut, or null
+     * @throws SQLException if the column cannot be read
+     */
+    static String read(ResultSet rs, int column) throws SQLException {
+        String text = rs.getString(column);
+        if (text == null || text.length() <= LENGTH) {
+            return text;
+        }
+        return text.substring(0, LENGTH).stripTrailing() + "…";
+    }
+}
@@ -0,0 +1,263 @@
+package repository;
+
+import enums.ProjectStatus;
+import model.ProjectCard;
+import util.NameOrder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Filters and sort order of a project list, run by the database.
+ * <p>
+ * Every filter is optional (null or empty means "any"); the ones set are combined with AND and
+ * compiled to a parameterized WHERE clause, so values never end up in the SQL text. Start from
+ * {@link #ALL} and narrow it down with the {@code with...} methods:
+ * <pre>{@code
+ * ProjectQuery.ALL.withStatuses(Set.of(ProjectStatus.IN_PROGRESS)).sortedBy(ProjectQuery.Sort.END_DATE)
+ * }</pre>
+ * Each sort key has an index in {@code sql/db/dump.sql}, with the ID as tie-breaker so pages
+ * can continue after a {@link PageCursor}.
+ *
+ * @param statuses  statuses to include; empty for any status
+ * @param managerId ID of the manager, or null for any
+ * @param teamId    ID of a team assigned to the project, or null for any
+ * @param startFrom earliest start date (inclusive), or null
+ * @param startTo   latest start date (inclusive), or null
+ * @param endFrom   earliest expected end date (inclusive), or null
+ * @param endTo     latest expected end date (inclusive), or null
+ * @param sort      sort key
+ */
+public record ProjectQuery(Set<ProjectStatus> statuses, Integer managerId, Integer teamId,
+                           LocalDate startFrom, LocalDate startTo, LocalDate endFrom, LocalDate endTo,
+                           Sort sort) {
+
+    /**
+     * Sort keys of a project list. Projects without a date come first when sorting by that date.
+     */
+    public enum Sort {
+        NAME("p.name"),
+        START_DATE("p.start_date"),
+        END_DATE("p.expected_end_date");
+
+        /**
+         * Column sorted on
+         */
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+    }
+
+    /**
+     * Every project, ordered by name
+     */
+    public static final ProjectQuery ALL = new ProjectQuery(Set.of(), null, null, null, null, null, null, Sort.NAME);
+
+    /**
+     * Copies the status set and defaults the sort to {@link Sort#NAME}.
+     */
+    public ProjectQuery {
+        statuses = statuses == null || statuses.isEmpty() ? Set.of() : Set.copyOf(statuses);
+        sort = sort != null ? sort : Sort.NAME;
+    }
+
+    /**
+     * Returns a copy limited to the given statuses.
+     *
+     * @param statuses statuses to include; null or empty for any status
+     * @return new query
+     */
+    public ProjectQuery withStatuses(Collection<ProjectStatus> statuses) {
+        Set<ProjectStatus> copy = statuses == null || statuses.isEmpty() ? Set.of() : EnumSet.copyOf(statuses);
+        return new ProjectQuery(copy, managerId, teamId, startFrom, startTo, endFrom, endTo, sort);
+    }
+
+    /**
+     * Returns a copy limited to the projects of a manager.
+     *
+     * @param managerId ID of the manager, or null for any
+     * @return new query
+     */
+    public ProjectQuery withManager(Integer managerId) {
+        return new ProjectQuery(statuses, managerId, teamId, startFrom, startTo, endFrom, endTo, sort);
+    }
+
+    /**
+     * Returns a copy limited to the projects a team is assigned to.
+     *
+     * @param teamId ID of the team, or null for any
+     * @return new query
+     */
+    public ProjectQuery withTeam(Integer teamId) {
+        return new ProjectQuery(statuses, managerId, teamId, startFrom, startTo, endFrom, endTo, sort);
+    }
+
+    /**
+     * Returns a copy limited to the projects starting within a range.
+     *
+     * @param from earliest start date (inclusive), or null
+     * @param to   latest start date (inclusive), or null
+     * @return new query
+     */
+    public ProjectQuery withStartBetween(LocalDate from, LocalDate to) {
+        return new ProjectQuery(statuses, managerId, teamId, from, to, endFrom, endTo, sort);
+    }
+
+    /**
+     * Returns a copy limited to the projects expected to end within a range.
+     *
+     * @param from earliest expected end date (inclusive), or null
+     * @param to   latest expected end date (inclusive), or null
+     * @return new query
+     */
+    public ProjectQuery withEndBetween(LocalDate from, LocalDate to) {
+        return new ProjectQuery(statuses, managerId, teamId, startFrom, startTo, from, to, sort);
+    }
+
+    /**
+     * Returns a copy with another sort key.
+     *
+     * @param sort sort key
+     * @return new query
+     */
+    public ProjectQuery sortedBy(Sort sort) {
+        return new ProjectQuery(statuses, managerId, teamId, startFrom, startTo, endFrom, endTo, sort);
+    }
+
+    /**
+     * Returns whether no filter is set.
+     *
+     * @return true if every project matches
+     */
+    public boolean isUnfiltered() {
+        return statuses.isEmpty() && managerId == null && teamId == null
+                && startFrom == null && startTo == null && endFrom == null && endTo == null;
+    }
+
+    /**
+     * Order of the cards in a page of this query, matching {@link #orderBy()}.
+     *
+     * @return card comparator
+     */
+    public Comparator<ProjectCard> order() {
+        Comparator<ProjectCard> bySortKey = switch (sort) {
+            case NAME -> Comparator.comparing(ProjectCard::name, NameOrder.COMPARATOR);
+            case START_DATE -> Comparator.comparing(ProjectCard::startDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case END_DATE -> Comparator.comparing(ProjectCard::endDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+        };
+        return bySortKey.thenComparingInt(ProjectCard::id);
+    }
+
+    /**
+     * Cursor continuing after a card in a list of this query.
+     *
+     * @param card last card of a page
+     * @return cursor holding the card's sort key and ID
+     */
+    public PageCursor cursorOf(ProjectCard card) {
+        String sortKey = switch (sort) {
+            case NAME -> card.name();
+            case START_DATE -> card.startDate() != null ? card.startDate().toString() : null;
+            case END_DATE -> card.endDate() != null ? card.endDate().toString() : null;
+        };
+        return new PageCursor(card.id(), sortKey);
+    }
+
+    /**
+     * Compiles the filters to a boolean SQL expression over the {@code projects p} alias,
+     * adding the values to bind to {@code params} in placeholder order.
+     *
+     * @param params receives the values to bind
+     * @return condition, or {@code TRUE} if no filter is set
+     */
+    String condition(List<Object> params) {
+        StringJoiner conditions = new StringJoiner(" AND ");
+        if (!statuses.isEmpty()) {
+            StringJoiner placeholders = new StringJoiner(", ", "p.status IN (", ")");
+            for (ProjectStatus status : statuses) {
+                placeholders.add("?");
+                params.add(ProjectRepository.STATUSES.encode(status));
+            }
+            conditions.add(placeholders.toString());
+        }
+        if (managerId != null) {
+            conditions.add("p.manager_id = ?");
+            params.add(managerId);
+        }
+        if (teamId != null) {
+            conditions.add("EXISTS (SELECT 1 FROM project_teams pt WHERE pt.project_id = p.id AND pt.team_id = ?)");
+            params.add(teamId);
+        }
+        addRange(conditions, params, "p.start_date", startFrom, startTo);
+        addRange(conditions, params, "p.expected_end_date", endFrom, endTo);
+        return conditions.length() == 0 ? "TRUE" : conditions.toString();
+    }
+
+    /**
+     * Compiles the keyset seek continuing after a cursor, adding its values to {@code params}.
+     * Rows without a sort date come first, so after such a row the seek also admits every dated row.
+     *
+     * @param after  cursor of the previous page
+     * @param params receives the values to bind
+     * @return condition
+     */
+    String seek(PageCursor after, List<Object> params) {
+        String column = sort.column;
+        if (after.lastSortKey() == null) {
+            params.add(after.lastId());
+            return "((" + column + " IS NULL AND p.id > ?) OR " + column + " IS NOT NULL)";
+        }
+        params.add(sort == Sort.NAME ? after.lastSortKey() : Date.valueOf(after.lastSortKey()));
+        params.add(after.lastId());
+        return "(" + column + ", p.id) > (?, ?)";
+    }
+
+    /**
+     * ORDER BY clause of this query.
+     *
+     * @return sort column and ID
+     */
+    String orderBy() {
+        return "ORDER BY " + sort.column + ", p.id";
+    }
+
+    /**
+     * Binds values collected by {@link #condition(List)} and {@link #seek(PageCursor, List)}.
+     *
+     * @param stmt   statement to bind
+     * @param index  first parameter index
+     * @param params values in placeholder order
+     * @return next free parameter index
+     * @throws SQLException if a value cannot be bound
+     */
+    static int bind(PreparedStatement stmt, int index, List<Object> params) throws SQLException {
+        for (Object param : params) {
+            stmt.setObject(index++, param);
+        }
+        return index;
+    }
+
+    /**
+     * Adds an inclusive date range on a column; either end may be open.
+     */
+    private static void addRange(StringJoiner conditions, List<Object> params, String column, LocalDate from, LocalDate to) {
+        if (from != null) {
+            conditions.add(column + " >= ?");
+            params.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            conditions.add(column + " <= ?");
+            params.add(Date.valueOf(to));
+        }
+    }
+}
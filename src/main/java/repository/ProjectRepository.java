@@ -1,13 +1,23 @@
 package repository;
 
 import enums.ProjectStatus;
+import mapping.EnumColumn;
 import model.Project;
+import model.ProjectCard;
+import model.ProjectRowMapper;
 import model.Team;
+import model.TeamRowMapper;
+import util.ChangeEvents;
 import util.DBConnection;
+import util.IntObjectMap;
+import util.TransactionManager;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Repository class responsible for performing CRUD operations on Project objects.
@@ -16,6 +26,28 @@ import java.util.List;
  */
 public class ProjectRepository {
 
+    /**
+     * Query used by the streaming methods
+     */
+    private static final String STREAM_ALL_SQL = """
+            SELECT p.id, p.name, p.description, p.start_date, p.expected_end_date, p.status,
+                   u.full_name AS manager_name
+            FROM projects p
+            LEFT JOIN users u ON p.manager_id = u.id
+            ORDER BY p.id
+            """;
+
+    /**
+     * Columns shown on project cards, with the description truncated
+     */
+    private static final String CARD_COLUMNS = "p.id, p.name, " + Previews.select("p.description", "description")
+            + ", p.status, p.start_date, p.expected_end_date, p.row_version, u.full_name AS manager_name";
+
+    /**
+     * Values of the status column
+     */
+    static final EnumColumn<ProjectStatus> STATUSES = EnumColumn.of(ProjectStatus.class);
+
     /**
      * Counts the total number of projects in the database.
      *
@@ -59,7 +91,7 @@ public class ProjectRepository {
             stmt.setString(2, project.getDescription());
             stmt.setObject(3, project.getStartDate() != null ? Date.valueOf(project.getStartDate()) : null);
             stmt.setObject(4, project.getPlannedEndDate() != null ? Date.valueOf(project.getPlannedEndDate()) : null);
-            stmt.setString(5, project.getStatus() != null ? project.getStatus().name() : ProjectStatus.PLANNED.name());
+            stmt.setString(5, STATUSES.encode(project.getStatus() != null ? project.getStatus() : ProjectStatus.PLANNED));
             stmt.setInt(6, managerId);
 
             stmt.executeUpdate();
@@ -71,6 +103,8 @@ public class ProjectRepository {
                 }
             }
 
+            ChangeEvents.publish(ChangeEvents.Entity.PROJECT, ChangeEvents.Kind.CREATED, project.getId());
+
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -94,21 +128,14 @@ public class ProjectRepository {
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
+            // Teams are loaded below for all projects at once
+            ProjectRowMapper mapper = new ProjectRowMapper();
             while (rs.next()) {
-                Project project = new Project(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("description"),
-                        rs.getDate("start_date") != null ? rs.getDate("start_date").toString() : null,
-                        rs.getDate("expected_end_date") != null ? rs.getDate("expected_end_date").toString() : null,
-                        null,
-                        rs.getString("status") != null ? ProjectStatus.valueOf(rs.getString("status")) : null,
-                        rs.getString("manager_name"),
-                        getTeamsForProject(rs.getInt("id")) // Load associated teams
-                );
-                projects.add(project);
+                projects.add(mapper.map(rs));
             }
 
+            attachTeams(projects, conn);
+
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -116,15 +143,106 @@ public class ProjectRepository {
         return projects;
     }
 
+    /**
+     * Retrieves one page of the project cards matching a query, in the query's order, using
+     * keyset pagination. Filtering and sorting run in the database. Only the columns shown on
+     * the cards are read, with the description truncated by the database; teams are not loaded.
+     *
+     * @param query filters and sort key
+     * @param after cursor returned with the previous page, or null for the first page
+     * @param limit maximum number of projects in the page
+     * @return page of project cards
+     */
+    public Page<ProjectCard> findCardPage(ProjectQuery query, PageCursor after, int limit) {
+        List<ProjectCard> cards = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String where = query.condition(params);
+        if (after != null) {
+            where += " AND " + query.seek(after, params);
+        }
+        String sql = """
+                SELECT %s
+                FROM projects p
+                LEFT JOIN users u ON p.manager_id = u.id
+                WHERE %s
+                %s
+                LIMIT ?
+                """.formatted(CARD_COLUMNS, where, query.orderBy());
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = ProjectQuery.bind(stmt, 1, params);
+            stmt.setInt(index, limit + 1); // One extra row tells whether another page exists
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                CardColumns columns = CardColumns.of(rs);
+                while (rs.next()) {
+                    cards.add(mapCard(rs, columns));
+                }
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return Page.of(cards, limit, query::cursorOf);
+    }
+
+    /**
+     * Streams all projects to a consumer without building a list,
+     * fetching rows from a server-side cursor in batches of the default fetch size.
+     * Teams are not loaded for streamed projects.
+     *
+     * @param consumer receives each project
+     * @return number of projects streamed
+     */
+    public int streamAll(Consumer<Project> consumer) {
+        return streamAll(consumer, ResultStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all projects to a consumer without building a list.
+     *
+     * @param consumer  receives each project
+     * @param fetchSize rows fetched per round trip
+     * @return number of projects streamed
+     */
+    public int streamAll(Consumer<Project> consumer, int fetchSize) {
+        return ResultStreams.forEach(STREAM_ALL_SQL, new ProjectRowMapper()::map, consumer, fetchSize);
+    }
+
+    /**
+     * Opens a lazy stream over all projects.
+     * The stream holds a database connection until closed, so use it in try-with-resources.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @return stream of projects
+     */
+    public Stream<Project> streamAll(int fetchSize) {
+        return ResultStreams.stream(STREAM_ALL_SQL, new ProjectRowMapper()::map, fetchSize);
+    }
+
     /**
      * Finds a project by its ID, including associated teams.
+     * Served from the shared entity cache when possible.
      *
      * @param id Project ID
      * @return Project object or null if not found
      */
     public Project findById(int id) {
+        return EntityCaches.PROJECTS.get(id, this::loadById);
+    }
+
+    /**
+     * Loads a project and its teams from the database.
+     *
+     * @param id Project ID
+     * @return Project object or null if not found
+     */
+    private Project loadById(int id) {
         String sql = """
-                SELECT p.id, p.name, p.description, p.start_date, p.expected_end_date, p.status,
+                SELECT p.id, p.name, p.description, p.start_date, p.expected_end_date, p.status, p.row_version,
                        u.full_name AS manager_name
                 FROM projects p
                 LEFT JOIN users u ON p.manager_id = u.id
@@ -138,17 +256,9 @@ public class ProjectRepository {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return new Project(
-                            rs.getInt("id"),
-                            rs.getString("name"),
-                            rs.getString("description"),
-                            rs.getDate("start_date") != null ? rs.getDate("start_date").toString() : null,
-                            rs.getDate("expected_end_date") != null ? rs.getDate("expected_end_date").toString() : null,
-                            null,
-                            rs.getString("status") != null ? ProjectStatus.valueOf(rs.getString("status")) : null,
-                            rs.getString("manager_name"),
-                            getTeamsForProject(rs.getInt("id"))
-                    );
+                    Project project = new ProjectRowMapper().map(rs);
+                    attachTeams(List.of(project), conn);
+                    return project;
                 }
             }
 
@@ -160,42 +270,109 @@ public class ProjectRepository {
     }
 
     /**
-     * Retrieves all teams associated with a specific project.
+     * Retrieves the cards of the projects matching a query that were inserted or updated since
+     * a sync point, and the IDs of the projects deleted since then. Projects changed so that they
+     * no longer match the query are reported as deleted, so they leave the filtered list.
+     * Both queries run on the same snapshot.
+     *
+     * @param query filters of the displayed list
+     * @param since sync point returned by a previous call or by {@link SyncRepository#currentSyncPoint()}
+     * @return changes since the sync point, or null if the query failed
+     */
+    public ChangeSet<ProjectCard> findCardsChangedSince(ProjectQuery query, Timestamp since) {
+        List<Object> params = new ArrayList<>();
+        String sql = """
+                SELECT %s, (%s) AS matches_query
+                FROM projects p
+                LEFT JOIN users u ON p.manager_id = u.id
+                WHERE p.updated_at >= ?
+                """.formatted(CARD_COLUMNS, query.condition(params));
+
+        try {
+            return TransactionManager.inReadOnlySnapshot(conn -> {
+                Timestamp syncedAt = SyncRepository.serverTime(conn);
+                List<ProjectCard> cards = new ArrayList<>();
+                List<Integer> deletedIds = SyncRepository.deletedSince(conn, "projects", since);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int index = ProjectQuery.bind(stmt, 1, params);
+                    stmt.setTimestamp(index, SyncRepository.lookbackFrom(since));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        CardColumns columns = CardColumns.of(rs);
+                        int matchesQuery = rs.findColumn("matches_query");
+                        while (rs.next()) {
+                            if (rs.getBoolean(matchesQuery)) {
+                                cards.add(mapCard(rs, columns));
+                            } else {
+                                deletedIds.add(rs.getInt(columns.id()));
+                            }
+                        }
+                    }
+                }
+                return new ChangeSet<>(cards, deletedIds, syncedAt);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Positions of the {@link #CARD_COLUMNS} in a result set, looked up once per query.
+     */
+    private record CardColumns(int id, int name, int description, int status, int managerName,
+                               int startDate, int expectedEndDate, int version) {
+
+        static CardColumns of(ResultSet rs) throws SQLException {
+            return new CardColumns(rs.findColumn("id"), rs.findColumn("name"), rs.findColumn("description"),
+                    rs.findColumn("status"), rs.findColumn("manager_name"), rs.findColumn("start_date"),
+                    rs.findColumn("expected_end_date"), rs.findColumn("row_version"));
+        }
+    }
+
+    /**
+     * Maps the current row of a {@link #CARD_COLUMNS} query to a ProjectCard.
      *
-     * @param projectId Project ID
-     * @return List of associated teams
+     * @param rs      result set positioned on a project row
+     * @param columns positions of the card columns in the result set
+     * @return mapped card
+     * @throws SQLException if a column cannot be read
      */
-    private List<Team> getTeamsForProject(int projectId) {
-        List<Team> teams = new ArrayList<>();
+    private ProjectCard mapCard(ResultSet rs, CardColumns columns) throws SQLException {
+        return new ProjectCard(
+                rs.getInt(columns.id()),
+                rs.getString(columns.name()),
+                Previews.read(rs, columns.description()),
+                STATUSES.decode(rs.getString(columns.status())),
+                rs.getString(columns.managerName()),
+                rs.getObject(columns.startDate(), LocalDate.class),
+                rs.getObject(columns.expectedEndDate(), LocalDate.class),
+                rs.getLong(columns.version())
+        );
+    }
+
+    /**
+     * Loads the teams of all given projects with one query per chunk of project ids
+     * and attaches them to the projects.
+     *
+     * @param projects Projects whose teams should be loaded
+     * @param conn     Database connection
+     * @throws SQLException if a database error occurs
+     */
+    private void attachTeams(List<Project> projects, Connection conn) throws SQLException {
         String sql = """
-                SELECT t.id, t.name, t.description
+                SELECT pt.project_id AS parent_id, t.id, t.name, t.description
                 FROM project_teams pt
                 INNER JOIN teams t ON pt.team_id = t.id
-                WHERE pt.project_id = ?
+                WHERE pt.project_id IN (%s)
                 """;
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, projectId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Team team = new Team(
-                            rs.getInt("id"),
-                            rs.getString("name"),
-                            rs.getString("description"),
-                            new ArrayList<>(), // Members can be loaded separately if needed
-                            new ArrayList<>()  // Projects can be loaded separately
-                    );
-                    teams.add(team);
-                }
-            }
+        int[] projectIds = projects.stream().mapToInt(Project::getId).toArray();
+        IntObjectMap<List<Team>> teamsByProject = AssociationLoader.load(conn, sql, projectIds,
+                new TeamRowMapper()::map); // Members and projects of the teams are not loaded
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+        for (Project project : projects) {
+            project.setTeams(AssociationLoader.childrenOf(teamsByProject, project.getId()));
         }
-
-        return teams;
     }
 
     /**
@@ -216,7 +393,7 @@ public class ProjectRepository {
             stmt.setString(2, project.getDescription());
             stmt.setObject(3, project.getStartDate() != null ? Date.valueOf(project.getStartDate()) : null);
             stmt.setObject(4, project.getPlannedEndDate() != null ? Date.valueOf(project.getPlannedEndDate()) : null);
-            stmt.setString(5, project.getStatus() != null ? project.getStatus().name() : ProjectStatus.PLANNED.name());
+            stmt.setString(5, STATUSES.encode(project.getStatus() != null ? project.getStatus() : ProjectStatus.PLANNED));
             stmt.setNull(6, Types.INTEGER); // manager_id can be null
 
             stmt.executeUpdate();
@@ -227,6 +404,8 @@ public class ProjectRepository {
                 }
             }
 
+            ChangeEvents.publish(ChangeEvents.Entity.PROJECT, ChangeEvents.Kind.CREATED, project.getId());
+
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -240,7 +419,8 @@ public class ProjectRepository {
     public void updateProject(Project project) {
         String sql = """
                 UPDATE projects
-                SET name = ?, description = ?, start_date = ?, expected_end_date = ?, status = ?, manager_id = ?
+                SET name = ?, description = ?, start_date = ?, expected_end_date = ?, status = ?, manager_id = ?,
+                    row_version = row_version + 1
                 WHERE id = ?
                 """;
 
@@ -251,30 +431,51 @@ public class ProjectRepository {
             stmt.setString(2, project.getDescription());
             stmt.setObject(3, project.getStartDate() != null ? Date.valueOf(project.getStartDate()) : null);
             stmt.setObject(4, project.getPlannedEndDate() != null ? Date.valueOf(project.getPlannedEndDate()) : null);
-            stmt.setString(5, project.getStatus() != null ? project.getStatus().name() : ProjectStatus.PLANNED.name());
+            stmt.setString(5, STATUSES.encode(project.getStatus() != null ? project.getStatus() : ProjectStatus.PLANNED));
             stmt.setNull(6, Types.INTEGER); // manager_id can be null
             stmt.setInt(7, project.getId());
 
             stmt.executeUpdate();
 
+            // Teams embed their projects, so cached teams may show the old data
+            EntityCaches.PROJECTS.invalidate(project.getId());
+            EntityCaches.TEAMS.invalidateAll();
+            ChangeEvents.publish(ChangeEvents.Entity.PROJECT, ChangeEvents.Kind.UPDATED, project.getId());
+
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Deletes a project from the database.
+     * Deletes a project from the database and records a tombstone for delta sync.
+     * The teams linked to the project get a new version, since their project list changes.
      *
      * @param project Project object to remove
      */
     public void removeProject(Project project) {
-        String sql = "DELETE FROM projects WHERE id = ?";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try {
+            int affected = TransactionManager.inTransaction(conn -> {
+                SyncRepository.touch(conn, """
+                        UPDATE teams SET row_version = row_version + 1
+                        WHERE id IN (SELECT team_id FROM project_teams WHERE project_id = ?)
+                        """, project.getId());
+                int deleted;
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM projects WHERE id = ?")) {
+                    stmt.setInt(1, project.getId());
+                    deleted = stmt.executeUpdate();
+                }
+                if (deleted > 0) {
+                    SyncRepository.writeTombstone(conn, "projects", project.getId());
+                }
+                return deleted;
+            });
 
-            stmt.setInt(1, project.getId());
-            stmt.executeUpdate();
+            EntityCaches.PROJECTS.invalidate(project.getId());
+            EntityCaches.TEAMS.invalidateAll();
+            if (affected > 0) {
+                ChangeEvents.publish(ChangeEvents.Entity.PROJECT, ChangeEvents.Kind.DELETED, project.getId());
+            }
 
         } catch (SQLException e) {
             e.printStackTrace();
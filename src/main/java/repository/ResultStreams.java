@@ -0,0 +1,127 @@
+package repository;
+
+import util.DBConnection;
+import util.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs large read queries without materializing the whole result in memory.
+ * <p>
+ * Statements are executed with a fetch size, which (with {@code useCursorFetch=true} on the
+ * JDBC URL) makes MySQL keep a server-side cursor and send the rows in batches of that size.
+ * Only one batch is held in the heap at a time, so exports and batch jobs can walk
+ * millions of rows in constant memory.
+ * These statements bypass the per-connection statement cache because their fetch size
+ * and cursor state must not leak into regular queries.
+ */
+class ResultStreams {
+
+    /**
+     * Default number of rows fetched per round trip
+     */
+    static final int DEFAULT_FETCH_SIZE = Integer.getInteger("db.stream.fetchSize", 1000);
+
+    private ResultStreams() {
+    }
+
+    /**
+     * Runs a query and passes every row to a consumer as it is read.
+     *
+     * @param sql       SELECT statement without parameters
+     * @param reader    maps a row
+     * @param consumer  receives each mapped row
+     * @param fetchSize rows fetched per round trip
+     * @param <T>       row type
+     * @return number of rows passed to the consumer
+     */
+    static <T> int forEach(String sql, RowReader<T> reader, Consumer<? super T> consumer, int fetchSize) {
+        int count = 0;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = prepare(conn, sql, fetchSize);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                consumer.accept(reader.read(rs));
+                count++;
+            }
+
+        } catch (SQLException e) {
+            Logger.error("Streaming query failed after " + count + " rows: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return count;
+    }
+
+    /**
+     * Runs a query and returns its rows as a lazy stream.
+     * The stream holds a pooled connection until it is closed, so callers must use
+     * try-with-resources.
+     *
+     * @param sql       SELECT statement without parameters
+     * @param reader    maps a row
+     * @param fetchSize rows fetched per round trip
+     * @param <T>       row type
+     * @return stream of mapped rows; closing it releases the connection
+     */
+    static <T> Stream<T> stream(String sql, RowReader<T> reader, int fetchSize) {
+        Connection conn = DBConnection.getConnection();
+        try {
+            PreparedStatement stmt = prepare(conn, sql, fetchSize);
+            ResultSet rs = stmt.executeQuery();
+
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rs.next()) return false;
+                        action.accept(reader.read(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new RuntimeException("Error reading streamed row", e);
+                    }
+                }
+            };
+
+            return StreamSupport.stream(rows, false).onClose(() -> close(rs, stmt, conn));
+
+        } catch (SQLException e) {
+            close(conn);
+            throw new RuntimeException("Error opening streaming query", e);
+        }
+    }
+
+    /**
+     * Prepares a forward-only, read-only statement with the given fetch size.
+     * The three-argument prepareStatement is not served from the statement cache.
+     */
+    private static PreparedStatement prepare(Connection conn, String sql, int fetchSize) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(fetchSize);
+        return stmt;
+    }
+
+    /**
+     * Closes JDBC resources in order, logging failures.
+     */
+    private static void close(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                Logger.warn("Failed to close streaming resource: " + e.getMessage());
+            }
+        }
+    }
+}
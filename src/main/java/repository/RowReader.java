@@ -0,0 +1,22 @@
+package repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads one row from the current position of a result set.
+ *
+ * @param <T> row type
+ */
+@FunctionalInterface
+interface RowReader<T> {
+
+    /**
+     * Maps the current row.
+     *
+     * @param rs result set positioned on a row
+     * @return mapped row
+     * @throws SQLException if a column cannot be read
+     */
+    T read(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,123 @@
+package repository;
+
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Support for delta sync: the server clock used as sync point and the tombstones
+ * ({@code deleted_rows}) written when rows are deleted.
+ * <p>
+ * Changed rows are found through their {@code updated_at} column. Because a transaction may
+ * commit after the sync point was read, every delta query looks back a little further than the
+ * sync point ({@code sync.overlapMillis}); applying a change twice is harmless since clients
+ * compare row versions.
+ */
+public class SyncRepository {
+
+    /**
+     * How far before the sync point delta queries start, to catch late commits
+     */
+    static final long OVERLAP_MILLIS = Long.getLong("sync.overlapMillis", 5_000L);
+
+    /**
+     * Returns the current database time, to be used as the sync point of a full load.
+     *
+     * @return server time, or null if the query failed
+     */
+    public Timestamp currentSyncPoint() {
+        try (Connection conn = DBConnection.getConnection()) {
+            return serverTime(conn);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Reads the database clock.
+     *
+     * @param conn connection to use
+     * @return current server time with microseconds
+     * @throws SQLException if the query fails
+     */
+    static Timestamp serverTime(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT NOW(6)");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getTimestamp(1);
+        }
+    }
+
+    /**
+     * Returns the lower bound used by delta queries for a sync point.
+     *
+     * @param since sync point
+     * @return sync point minus the overlap
+     */
+    static Timestamp lookbackFrom(Timestamp since) {
+        return new Timestamp(since.getTime() - OVERLAP_MILLIS);
+    }
+
+    /**
+     * Records that a row was deleted.
+     *
+     * @param conn  connection of the deleting statement (same transaction)
+     * @param table table name
+     * @param id    ID of the deleted row
+     * @throws SQLException if the insert fails
+     */
+    static void writeTombstone(Connection conn, String table, int id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO deleted_rows (table_name, row_id) VALUES (?, ?)")) {
+            stmt.setString(1, table);
+            stmt.setInt(2, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Returns the IDs of rows of a table deleted since a sync point.
+     *
+     * @param conn  connection to use
+     * @param table table name
+     * @param since sync point
+     * @return deleted IDs
+     * @throws SQLException if the query fails
+     */
+    static List<Integer> deletedSince(Connection conn, String table, Timestamp since) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT DISTINCT row_id FROM deleted_rows WHERE table_name = ? AND deleted_at >= ?")) {
+            stmt.setString(1, table);
+            stmt.setTimestamp(2, lookbackFrom(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Increments the version of rows whose associations changed, so delta sync reports them.
+     *
+     * @param conn connection of the changing statement
+     * @param sql  UPDATE statement bumping {@code row_version}, with one int parameter
+     * @param id   parameter value
+     * @throws SQLException if the update fails
+     */
+    static void touch(Connection conn, String sql, int id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package repository;
 
 import model.Project;
+import model.ProjectRowMapper;
 import model.Team;
+import model.TeamCard;
+import model.TeamRowMapper;
 import model.User;
+import model.UserRowMapper;
+import util.ChangeEvents;
 import util.DBConnection;
+import util.IntObjectMap;
+import util.Logger;
+import util.TransactionManager;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Repository class responsible for performing CRUD operations on Team objects.
@@ -17,6 +27,17 @@ import java.util.List;
  */
 public class TeamRepository {
 
+    /**
+     * Query used by the streaming methods
+     */
+    private static final String STREAM_ALL_SQL = "SELECT * FROM teams ORDER BY id";
+
+    /**
+     * Columns shown on team cards, with the description truncated
+     */
+    private static final String CARD_COLUMNS = "id, name, " + Previews.select("description", "description")
+            + ", row_version";
+
     /**
      * Counts the total number of teams in the database.
      *
@@ -41,28 +62,22 @@ public class TeamRepository {
     }
 
     /**
-     * Retrieves all users from the database.
+     * Retrieves all users from the database, for picking team members.
+     * Password hashes are not read, so the returned users have a null password.
      *
      * @return list of all users
      */
     public List<User> getAllUsers() {
         List<User> users = new ArrayList<>();
-        String sql = "SELECT * FROM users";
+        String sql = "SELECT " + UserRepository.PUBLIC_COLUMNS + " FROM users";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
+            UserRowMapper mapper = new UserRowMapper();
             while (rs.next()) {
-                users.add(new User(
-                        rs.getInt("id"),
-                        rs.getString("full_name"),
-                        rs.getString("cpf"),
-                        rs.getString("email"),
-                        null,
-                        rs.getString("login"),
-                        rs.getString("password")
-                ));
+                users.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -85,18 +100,9 @@ public class TeamRepository {
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
+            ProjectRowMapper mapper = new ProjectRowMapper();
             while (rs.next()) {
-                projects.add(new Project(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("description"),
-                        rs.getString("start_date"),
-                        rs.getString("expected_end_date"),
-                        rs.getString("status"),
-                        null,
-                        null,
-                        new ArrayList<>()
-                ));
+                projects.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -108,6 +114,8 @@ public class TeamRepository {
 
     /**
      * Retrieves all teams from the database, including their members and projects.
+     * Members and projects are loaded for all teams at once, so the number of queries
+     * does not grow with the number of teams.
      *
      * @return list of all teams
      */
@@ -115,141 +123,328 @@ public class TeamRepository {
         List<Team> teams = new ArrayList<>();
         String sql = "SELECT * FROM teams";
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+        try (Connection conn = DBConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                int teamId = rs.getInt("id");
-                String name = rs.getString("name");
-                String description = rs.getString("description");
+                TeamRowMapper mapper = new TeamRowMapper();
+                while (rs.next()) {
+                    teams.add(mapper.map(rs));
+                }
+            }
+
+            // Load members and projects associated with the teams
+            attachMembersAndProjects(teams, conn);
 
-                // Load members and projects associated with the team
-                List<User> members = getTeamMembers(teamId, conn);
-                List<Project> projects = getTeamProjects(teamId, conn);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return teams;
+    }
+
+    /**
+     * Finds a team by its ID, including its members and projects.
+     * Served from the shared entity cache when possible.
+     *
+     * @param id Team ID
+     * @return team, or null if not found
+     */
+    public Team findById(int id) {
+        return EntityCaches.TEAMS.get(id, this::loadById);
+    }
 
-                teams.add(new Team(teamId, name, description, members, projects));
+    /**
+     * Loads a team with its members and projects from the database.
+     *
+     * @param id Team ID
+     * @return team, or null if not found
+     */
+    private Team loadById(int id) {
+        String sql = "SELECT * FROM teams WHERE id = ?";
+
+        try (Connection conn = DBConnection.getConnection()) {
+            Team team = null;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        team = new TeamRowMapper().map(rs);
+                    }
+                }
+            }
+
+            if (team != null) {
+                attachMembersAndProjects(List.of(team), conn);
             }
+            return team;
 
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
-        return teams;
+        return null;
     }
 
     /**
-     * Retrieves all users that are members of a specific team.
+     * Streams all teams to a consumer without building a list,
+     * fetching rows from a server-side cursor in batches of the default fetch size.
+     * Members and projects are not loaded for streamed teams.
      *
-     * @param teamId Team ID
-     * @param conn   Database connection
-     * @return list of team members
-     * @throws SQLException if a database error occurs
+     * @param consumer receives each team
+     * @return number of teams streamed
      */
-    private List<User> getTeamMembers(int teamId, Connection conn) throws SQLException {
-        List<User> members = new ArrayList<>();
-        String sql = "SELECT u.* FROM users u " +
-                "JOIN team_members tm ON u.id = tm.user_id " +
-                "WHERE tm.team_id = ?";
+    public int streamAll(Consumer<Team> consumer) {
+        return streamAll(consumer, ResultStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all teams to a consumer without building a list.
+     *
+     * @param consumer  receives each team
+     * @param fetchSize rows fetched per round trip
+     * @return number of teams streamed
+     */
+    public int streamAll(Consumer<Team> consumer, int fetchSize) {
+        return ResultStreams.forEach(STREAM_ALL_SQL, new TeamRowMapper()::map, consumer, fetchSize);
+    }
+
+    /**
+     * Opens a lazy stream over all teams.
+     * The stream holds a database connection until closed, so use it in try-with-resources.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @return stream of teams
+     */
+    public Stream<Team> streamAll(int fetchSize) {
+        return ResultStreams.stream(STREAM_ALL_SQL, new TeamRowMapper()::map, fetchSize);
+    }
+
+    /**
+     * Retrieves one page of team cards ordered by name, using keyset pagination.
+     * Only the columns shown on the cards are read, with the description truncated by the
+     * database; members and projects are not loaded.
+     *
+     * @param after cursor returned with the previous page, or null for the first page
+     * @param limit maximum number of teams in the page
+     * @return page of team cards
+     */
+    public Page<TeamCard> findCardPage(PageCursor after, int limit) {
+        List<TeamCard> cards = new ArrayList<>();
+        String sql = after == null
+                ? "SELECT " + CARD_COLUMNS + " FROM teams ORDER BY name, id LIMIT ?"
+                : "SELECT " + CARD_COLUMNS + " FROM teams WHERE (name, id) > (?, ?) ORDER BY name, id LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (after != null) {
+                stmt.setString(index++, after.lastSortKey());
+                stmt.setInt(index++, after.lastId());
+            }
+            stmt.setInt(index, limit + 1); // One extra row tells whether another page exists
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teamId);
             try (ResultSet rs = stmt.executeQuery()) {
+                CardColumns columns = CardColumns.of(rs);
                 while (rs.next()) {
-                    members.add(new User(
-                            rs.getInt("id"),
-                            rs.getString("full_name"),
-                            rs.getString("cpf"),
-                            rs.getString("email"),
-                            null,
-                            rs.getString("login"),
-                            rs.getString("password")
-                    ));
+                    cards.add(mapCard(rs, columns));
                 }
             }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return Page.of(cards, limit, card -> new PageCursor(card.id(), card.name()));
+    }
+
+    /**
+     * Retrieves the cards of the teams inserted or updated since a sync point, and the IDs
+     * of the teams deleted since then. Both queries run on the same snapshot.
+     *
+     * @param since sync point returned by a previous call or by {@link SyncRepository#currentSyncPoint()}
+     * @return changes since the sync point, or null if the query failed
+     */
+    public ChangeSet<TeamCard> findCardsChangedSince(Timestamp since) {
+        String sql = "SELECT " + CARD_COLUMNS + " FROM teams WHERE updated_at >= ?";
+
+        try {
+            return TransactionManager.inReadOnlySnapshot(conn -> {
+                Timestamp syncedAt = SyncRepository.serverTime(conn);
+                List<TeamCard> cards = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setTimestamp(1, SyncRepository.lookbackFrom(since));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        CardColumns columns = CardColumns.of(rs);
+                        while (rs.next()) {
+                            cards.add(mapCard(rs, columns));
+                        }
+                    }
+                }
+                return new ChangeSet<>(cards, SyncRepository.deletedSince(conn, "teams", since), syncedAt);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
-        return members;
+        return null;
     }
 
     /**
-     * Retrieves all projects associated with a specific team.
+     * Positions of the {@link #CARD_COLUMNS} in a result set, looked up once per query.
+     */
+    private record CardColumns(int id, int name, int description, int version) {
+
+        static CardColumns of(ResultSet rs) throws SQLException {
+            return new CardColumns(rs.findColumn("id"), rs.findColumn("name"), rs.findColumn("description"),
+                    rs.findColumn("row_version"));
+        }
+    }
+
+    /**
+     * Maps the current row of a {@link #CARD_COLUMNS} query to a TeamCard.
+     *
+     * @param rs      result set positioned on a teams row
+     * @param columns positions of the card columns in the result set
+     * @return mapped card
+     * @throws SQLException if a column cannot be read
+     */
+    private TeamCard mapCard(ResultSet rs, CardColumns columns) throws SQLException {
+        return new TeamCard(rs.getInt(columns.id()), rs.getString(columns.name()),
+                Previews.read(rs, columns.description()), rs.getLong(columns.version()));
+    }
+
+    /**
+     * Loads the members and projects of all given teams and attaches them to the teams.
      *
-     * @param teamId Team ID
-     * @param conn   Database connection
-     * @return list of projects
+     * @param teams Teams whose associations should be loaded
+     * @param conn  Database connection
      * @throws SQLException if a database error occurs
      */
-    private List<Project> getTeamProjects(int teamId, Connection conn) throws SQLException {
-        List<Project> projects = new ArrayList<>();
-        String sql = "SELECT p.* FROM projects p " +
+    private void attachMembersAndProjects(List<Team> teams, Connection conn) throws SQLException {
+        String membersSql = "SELECT tm.team_id AS parent_id, u.id, u.full_name, u.cpf, u.email, u.role, u.login, " +
+                "u.row_version FROM users u " +
+                "JOIN team_members tm ON u.id = tm.user_id " +
+                "WHERE tm.team_id IN (%s)";
+        String projectsSql = "SELECT pt.team_id AS parent_id, p.* FROM projects p " +
                 "JOIN project_teams pt ON p.id = pt.project_id " +
-                "WHERE pt.team_id = ?";
+                "WHERE pt.team_id IN (%s)";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teamId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    projects.add(new Project(
-                            rs.getInt("id"),
-                            rs.getString("name"),
-                            rs.getString("description"),
-                            rs.getString("start_date"),
-                            rs.getString("expected_end_date"),
-                            rs.getString("status"),
-                            null,
-                            null,
-                            new ArrayList<>()
-                    ));
-                }
-            }
+        int[] teamIds = teams.stream().mapToInt(Team::getId).toArray();
+
+        IntObjectMap<List<User>> membersByTeam = AssociationLoader.load(conn, membersSql, teamIds,
+                new UserRowMapper()::map);
+
+        IntObjectMap<List<Project>> projectsByTeam = AssociationLoader.load(conn, projectsSql, teamIds,
+                new ProjectRowMapper()::map);
+
+        for (Team team : teams) {
+            team.setMembers(AssociationLoader.childrenOf(membersByTeam, team.getId()));
+            team.setProjects(AssociationLoader.childrenOf(projectsByTeam, team.getId()));
         }
-        return projects;
     }
 
     /**
      * Adds a new team to the database, along with its members and projects.
+     * <p>
+     * Everything runs in a single transaction: the team row, then all memberships and
+     * project links as JDBC batches (rewritten into multi-row INSERTs by the driver).
+     * If any step fails the whole team is rolled back. When called inside an outer
+     * {@link TransactionManager} scope the team joins that transaction instead.
+     * Sets the generated ID on the team.
      *
      * @param team Team object to add
+     * @return true if the team was created, false otherwise
      */
-    public void addTeam(Team team) {
+    public boolean addTeam(Team team) {
         String insertTeamSql = "INSERT INTO teams (name, description) VALUES (?, ?)";
+        String insertMemberSql = "INSERT INTO team_members (team_id, user_id) VALUES (?, ?)";
+        String insertProjectSql = "INSERT INTO project_teams (team_id, project_id) VALUES (?, ?)";
+
+        // Phase timestamps: start, team inserted, members inserted, projects inserted
+        long[] marks = new long[4];
+
+        try {
+            int teamId = TransactionManager.inTransaction(conn -> {
+                marks[0] = System.nanoTime();
+
+                // Insert the team and retrieve the generated team ID
+                int id;
+                try (PreparedStatement stmt = conn.prepareStatement(insertTeamSql, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setString(1, team.getName());
+                    stmt.setString(2, team.getDescription());
+                    stmt.executeUpdate();
+
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("No ID generated for team " + team.getName());
+                        }
+                        id = generatedKeys.getInt(1);
+                    }
+                }
+                marks[1] = System.nanoTime();
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(insertTeamSql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setString(1, team.getName());
-            stmt.setString(2, team.getDescription());
-            stmt.executeUpdate();
-
-            // Retrieve the generated team ID
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    int teamId = generatedKeys.getInt(1);
-
-                    // Insert team members
+                // Insert team members
+                try (PreparedStatement ps = conn.prepareStatement(insertMemberSql)) {
                     for (User user : team.getMembers()) {
-                        try (PreparedStatement ps = conn.prepareStatement(
-                                "INSERT INTO team_members (team_id, user_id) VALUES (?, ?)")) {
-                            ps.setInt(1, teamId);
-                            ps.setInt(2, user.getId());
-                            ps.executeUpdate();
-                        }
+                        ps.setInt(1, id);
+                        ps.setInt(2, user.getId());
+                        ps.addBatch();
                     }
+                    ps.executeBatch();
+                }
+                marks[2] = System.nanoTime();
 
-                    // Insert associated projects
+                // Insert associated projects
+                try (PreparedStatement ps = conn.prepareStatement(insertProjectSql)) {
                     for (Project project : team.getProjects()) {
-                        try (PreparedStatement ps = conn.prepareStatement(
-                                "INSERT INTO project_teams (team_id, project_id) VALUES (?, ?)")) {
-                            ps.setInt(1, teamId);
-                            ps.setInt(2, project.getId());
-                            ps.executeUpdate();
-                        }
+                        ps.setInt(1, id);
+                        ps.setInt(2, project.getId());
+                        ps.addBatch();
                     }
+                    ps.executeBatch();
                 }
+
+                // Linked projects list their teams, so they change too
+                if (!team.getProjects().isEmpty()) {
+                    SyncRepository.touch(conn, """
+                            UPDATE projects SET row_version = row_version + 1
+                            WHERE id IN (SELECT project_id FROM project_teams WHERE team_id = ?)
+                            """, id);
+                }
+                marks[3] = System.nanoTime();
+
+                ChangeEvents.publish(ChangeEvents.Entity.TEAM, ChangeEvents.Kind.CREATED, id);
+                return id;
+            });
+            long committed = System.nanoTime();
+
+            team.setId(teamId);
+
+            // Projects embed their teams, so cached projects linked to the new team are stale
+            for (Project project : team.getProjects()) {
+                EntityCaches.PROJECTS.invalidate(project.getId());
             }
 
+            Logger.info(String.format(
+                    "Team '%s' created in %.1fms (team: %.1fms, %d members: %.1fms, %d projects: %.1fms, commit: %.1fms)",
+                    team.getName(), millis(marks[0], committed), millis(marks[0], marks[1]),
+                    team.getMembers().size(), millis(marks[1], marks[2]),
+                    team.getProjects().size(), millis(marks[2], marks[3]),
+                    millis(marks[3], committed)));
+            return true;
+
         } catch (SQLException e) {
+            Logger.error("Failed to create team " + team.getName() + ", changes rolled back: " + e.getMessage());
             e.printStackTrace();
+            return false;
         }
     }
+
+    /**
+     * Elapsed time between two {@link System#nanoTime()} readings in milliseconds.
+     */
+    private static double millis(long fromNanos, long toNanos) {
+        return (toNanos - fromNanos) / 1_000_000.0;
+    }
 }
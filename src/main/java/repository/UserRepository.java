@@ -1,14 +1,20 @@
 package repository;
 
 import enums.UserRole;
+import mapping.EnumColumn;
 import model.User;
-import org.mindrot.jbcrypt.BCrypt;
+import model.UserCard;
+import model.UserRowMapper;
+import util.ChangeEvents;
 import util.DBConnection;
 import util.Logger;
+import util.PasswordHasher;
+import util.TransactionManager;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Repository class responsible for performing CRUD operations on User objects.
@@ -16,6 +22,36 @@ import java.util.List;
  */
 public class UserRepository {
 
+    /**
+     * Columns that can be checked for existing values in bulk
+     */
+    private static final Set<String> UNIQUE_LOOKUP_COLUMNS = Set.of("login", "email", "cpf");
+
+    /**
+     * Maximum number of values per IN-list in bulk lookups
+     */
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    /**
+     * Columns shown on user cards
+     */
+    private static final String CARD_COLUMNS = "id, full_name, email, role, row_version";
+
+    /**
+     * All columns except the password hash, for users listed outside of authentication
+     */
+    static final String PUBLIC_COLUMNS = "id, full_name, cpf, email, role, login, row_version";
+
+    /**
+     * Query used by the streaming methods; password hashes are not read
+     */
+    private static final String STREAM_ALL_SQL = "SELECT " + PUBLIC_COLUMNS + " FROM users ORDER BY id";
+
+    /**
+     * Values of the role column
+     */
+    private static final EnumColumn<UserRole> ROLES = EnumColumn.of(UserRole.class);
+
     /**
      * Counts the total number of users in the database.
      *
@@ -40,30 +76,22 @@ public class UserRepository {
     }
 
     /**
-     * Retrieves all users from the database.
+     * Retrieves all users from the database, for pickers such as the project manager choice.
+     * Password hashes are not read, so the returned users have a null password.
      *
      * @return list of all users
      */
     public List<User> findAll() {
         List<User> users = new ArrayList<>();
-        String sql = "SELECT * FROM users";
+        String sql = "SELECT " + PUBLIC_COLUMNS + " FROM users";
 
         try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
 
+            UserRowMapper mapper = new UserRowMapper();
             while (rs.next()) {
-                UserRole role = UserRole.valueOf(rs.getString("role").toUpperCase());
-                User user = new User(
-                        rs.getInt("id"),
-                        rs.getString("full_name"),
-                        rs.getString("cpf"),
-                        rs.getString("email"),
-                        role,
-                        rs.getString("login"),
-                        rs.getString("password")
-                );
-                users.add(user);
+                users.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -73,13 +101,96 @@ public class UserRepository {
         return users;
     }
 
+    /**
+     * Retrieves one page of user cards ordered by name, using keyset pagination.
+     * Only the columns shown on the cards are read.
+     *
+     * @param after cursor returned with the previous page, or null for the first page
+     * @param limit maximum number of users in the page
+     * @return page of user cards
+     */
+    public Page<UserCard> findCardPage(PageCursor after, int limit) {
+        List<UserCard> cards = new ArrayList<>();
+        String sql = after == null
+                ? "SELECT " + CARD_COLUMNS + " FROM users ORDER BY full_name, id LIMIT ?"
+                : "SELECT " + CARD_COLUMNS + " FROM users WHERE (full_name, id) > (?, ?) ORDER BY full_name, id LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (after != null) {
+                stmt.setString(index++, after.lastSortKey());
+                stmt.setInt(index++, after.lastId());
+            }
+            stmt.setInt(index, limit + 1); // One extra row tells whether another page exists
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                CardColumns columns = CardColumns.of(rs);
+                while (rs.next()) {
+                    cards.add(mapCard(rs, columns));
+                }
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return Page.of(cards, limit, card -> new PageCursor(card.id(), card.name()));
+    }
+
+    /**
+     * Streams all users to a consumer without building a list,
+     * fetching rows from a server-side cursor in batches of the default fetch size.
+     * Password hashes are not read.
+     *
+     * @param consumer receives each user
+     * @return number of users streamed
+     */
+    public int streamAll(Consumer<User> consumer) {
+        return streamAll(consumer, ResultStreams.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Streams all users to a consumer without building a list.
+     *
+     * @param consumer  receives each user
+     * @param fetchSize rows fetched per round trip
+     * @return number of users streamed
+     */
+    public int streamAll(Consumer<User> consumer, int fetchSize) {
+        return ResultStreams.forEach(STREAM_ALL_SQL, new UserRowMapper()::map, consumer, fetchSize);
+    }
+
+    /**
+     * Opens a lazy stream over all users.
+     * The stream holds a database connection until closed, so use it in try-with-resources.
+     *
+     * @param fetchSize rows fetched per round trip
+     * @return stream of users
+     */
+    public Stream<User> streamAll(int fetchSize) {
+        return ResultStreams.stream(STREAM_ALL_SQL, new UserRowMapper()::map, fetchSize);
+    }
+
     /**
      * Finds a user by their unique ID.
+     * Served from the shared entity cache when possible.
      *
      * @param id User ID
      * @return User object if found, otherwise null
      */
     public User findById(int id) {
+        return EntityCaches.USERS.get(id, this::loadById);
+    }
+
+    /**
+     * Loads a user by ID from the database.
+     *
+     * @param id User ID
+     * @return User object if found, otherwise null
+     */
+    private User loadById(int id) {
         String sql = "SELECT * FROM users WHERE id = ?";
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -87,16 +198,7 @@ public class UserRepository {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    UserRole role = UserRole.valueOf(rs.getString("role").toUpperCase());
-                    return new User(
-                            rs.getInt("id"),
-                            rs.getString("full_name"),
-                            rs.getString("cpf"),
-                            rs.getString("email"),
-                            role,
-                            rs.getString("login"),
-                            rs.getString("password")
-                    );
+                    return new UserRowMapper().map(rs);
                 }
             }
 
@@ -108,11 +210,22 @@ public class UserRepository {
 
     /**
      * Finds a user by their login name.
+     * Served from the shared entity cache when possible.
      *
      * @param login Login string
      * @return User object if found, otherwise null
      */
     public User findByLogin(String login) {
+        return EntityCaches.USERS_BY_LOGIN.get(login, this::loadByLogin);
+    }
+
+    /**
+     * Loads a user by login name from the database.
+     *
+     * @param login Login string
+     * @return User object if found, otherwise null
+     */
+    private User loadByLogin(String login) {
         String sql = "SELECT * FROM users WHERE login = ?";
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -120,22 +233,7 @@ public class UserRepository {
             stmt.setString(1, login);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    UserRole role = null;
-                    try {
-                        role = UserRole.valueOf(rs.getString("role").toUpperCase());
-                    } catch (IllegalArgumentException e) {
-                        Logger.error("Invalid role in DB for user " + login + ": " + rs.getString("role"));
-                    }
-
-                    return new User(
-                            rs.getInt("id"),
-                            rs.getString("full_name"),
-                            rs.getString("cpf"),
-                            rs.getString("email"),
-                            role,
-                            rs.getString("login"),
-                            rs.getString("password")
-                    );
+                    return new UserRowMapper().map(rs);
                 }
             }
 
@@ -145,6 +243,61 @@ public class UserRepository {
         return null;
     }
 
+    /**
+     * Retrieves the cards of the users inserted or updated since a sync point, and the IDs
+     * of the users deleted since then. Both queries run on the same snapshot.
+     *
+     * @param since sync point returned by a previous call or by {@link SyncRepository#currentSyncPoint()}
+     * @return changes since the sync point, or null if the query failed
+     */
+    public ChangeSet<UserCard> findCardsChangedSince(Timestamp since) {
+        String sql = "SELECT " + CARD_COLUMNS + " FROM users WHERE updated_at >= ?";
+
+        try {
+            return TransactionManager.inReadOnlySnapshot(conn -> {
+                Timestamp syncedAt = SyncRepository.serverTime(conn);
+                List<UserCard> cards = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setTimestamp(1, SyncRepository.lookbackFrom(since));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        CardColumns columns = CardColumns.of(rs);
+                        while (rs.next()) {
+                            cards.add(mapCard(rs, columns));
+                        }
+                    }
+                }
+                return new ChangeSet<>(cards, SyncRepository.deletedSince(conn, "users", since), syncedAt);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Positions of the {@link #CARD_COLUMNS} in a result set, looked up once per query.
+     */
+    private record CardColumns(int id, int name, int email, int role, int version) {
+
+        static CardColumns of(ResultSet rs) throws SQLException {
+            return new CardColumns(rs.findColumn("id"), rs.findColumn("full_name"), rs.findColumn("email"),
+                    rs.findColumn("role"), rs.findColumn("row_version"));
+        }
+    }
+
+    /**
+     * Maps a row of {@link #CARD_COLUMNS} to a UserCard.
+     *
+     * @param rs      result set positioned on a users row
+     * @param columns positions of the card columns in the result set
+     * @return mapped card
+     * @throws SQLException if a column cannot be read
+     */
+    private UserCard mapCard(ResultSet rs, CardColumns columns) throws SQLException {
+        return new UserCard(rs.getInt(columns.id()), rs.getString(columns.name()), rs.getString(columns.email()),
+                ROLES.decode(rs.getString(columns.role())), rs.getLong(columns.version()));
+    }
+
     /**
      * Checks whether the provided plain text password matches the stored hashed password.
      *
@@ -154,7 +307,7 @@ public class UserRepository {
      */
     public boolean checkPassword(User user, String plainPassword) {
         if (user == null || plainPassword == null) return false;
-        return BCrypt.checkpw(plainPassword, user.getPassword());
+        return PasswordHasher.verify(plainPassword, user.getPassword());
     }
 
     /**
@@ -175,11 +328,10 @@ public class UserRepository {
             stmt.setString(4, user.getLogin());
 
             // Hash the password before saving
-            String hashedPassword = BCrypt.hashpw(user.getPassword(), BCrypt.gensalt(12));
-            stmt.setString(5, hashedPassword);
+            stmt.setString(5, hashPassword(user.getPassword()));
 
             // Default role is COLLABORATOR if null
-            stmt.setString(6, user.getRole() != null ? user.getRole().name() : "COLLABORATOR");
+            stmt.setString(6, ROLES.encode(user.getRole() != null ? user.getRole() : UserRole.COLLABORATOR));
 
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
@@ -193,6 +345,7 @@ public class UserRepository {
                 }
             }
 
+            ChangeEvents.publish(ChangeEvents.Entity.USER, ChangeEvents.Kind.CREATED, user.getId());
             return true;
 
         } catch (SQLException e) {
@@ -202,19 +355,167 @@ public class UserRepository {
     }
 
     /**
-     * Deletes a user from the database by ID.
+     * Inserts users whose passwords are already hashed, in one transaction using a JDBC batch.
+     * Either all users are inserted or none. Sets the generated IDs on the users.
      *
-     * @param userId User ID
-     * @return true if deletion was successful, false otherwise
+     * @param users users to insert, with BCrypt hashes in the password field
+     * @throws SQLException if any insert fails (the whole batch is rolled back)
      */
-    public boolean deleteUser(int userId) {
-        String sql = "DELETE FROM users WHERE id = ?";
+    public void insertHashedUsers(List<User> users) throws SQLException {
+        String sql = "INSERT INTO users (full_name, cpf, email, login, password, role) VALUES (?, ?, ?, ?, ?, ?)";
+
+        TransactionManager.inTransaction(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (User user : users) {
+                    stmt.setString(1, user.getName());
+                    stmt.setString(2, user.getCpf());
+                    stmt.setString(3, user.getEmail());
+                    stmt.setString(4, user.getLogin());
+                    stmt.setString(5, user.getPassword());
+                    stmt.setString(6, ROLES.encode(user.getRole() != null ? user.getRole() : UserRole.COLLABORATOR));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                // Generated keys come back in insertion order
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    for (int i = 0; i < users.size() && generatedKeys.next(); i++) {
+                        users.get(i).setId(generatedKeys.getInt(1));
+                    }
+                }
+            }
+
+            for (User user : users) {
+                ChangeEvents.publish(ChangeEvents.Entity.USER, ChangeEvents.Kind.CREATED, user.getId());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns which of the given values already exist in a unique user column.
+     * Values are checked with chunked IN-lists, so the number of queries does not
+     * depend on the number of values. Matching follows the column collation
+     * (case-insensitive); returned values are lower-cased.
+     *
+     * @param column one of {@code login}, {@code email} or {@code cpf}
+     * @param values values to look up
+     * @return lower-cased values that are already taken
+     * @throws SQLException if the lookup fails
+     */
+    public Set<String> findExistingValues(String column, Collection<String> values) throws SQLException {
+        if (!UNIQUE_LOOKUP_COLUMNS.contains(column)) {
+            throw new IllegalArgumentException("Unsupported lookup column: " + column);
+        }
+
+        Set<String> existing = new HashSet<>();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        if (distinct.isEmpty()) return existing;
+
+        int chunkSize = Math.min(LOOKUP_CHUNK_SIZE, distinct.size());
+        String sql = "SELECT " + column + " FROM users WHERE " + column + " IN ("
+                + String.join(", ", Collections.nCopies(chunkSize, "?")) + ")";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setInt(1, userId);
+            for (int from = 0; from < distinct.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, distinct.size());
+                for (int i = 0; i < chunkSize; i++) {
+                    // Pad the last chunk by repeating its last value
+                    stmt.setString(i + 1, distinct.get(Math.min(from + i, to - 1)));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        existing.add(rs.getString(1).toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+
+        return existing;
+    }
+
+    /**
+     * Hashes a plain text password with BCrypt using the calibrated work factor.
+     *
+     * @param plainPassword plain text password
+     * @return BCrypt hash
+     * @see PasswordHasher
+     */
+    public static String hashPassword(String plainPassword) {
+        return PasswordHasher.hash(plainPassword);
+    }
+
+    /**
+     * Replaces a user's password hash, e.g. to upgrade it to the current work factor.
+     *
+     * @param userId       User ID
+     * @param passwordHash new BCrypt hash
+     * @return true if the user was updated, false otherwise
+     */
+    public boolean updatePassword(int userId, String passwordHash) {
+        String sql = "UPDATE users SET password = ?, row_version = row_version + 1 WHERE id = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, passwordHash);
+            stmt.setInt(2, userId);
             int affected = stmt.executeUpdate();
+
+            EntityCaches.invalidateUser(userId);
+            if (affected > 0) {
+                ChangeEvents.publish(ChangeEvents.Entity.USER, ChangeEvents.Kind.UPDATED, userId);
+            }
+            return affected > 0;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Deletes a user from the database by ID and records a tombstone for delta sync.
+     * Teams the user belonged to and projects they managed get a new version, since the
+     * database removes the user from them.
+     *
+     * @param userId User ID
+     * @return true if deletion was successful, false otherwise
+     */
+    public boolean deleteUser(int userId) {
+        try {
+            int affected = TransactionManager.inTransaction(conn -> {
+                SyncRepository.touch(conn, """
+                        UPDATE teams SET row_version = row_version + 1
+                        WHERE id IN (SELECT team_id FROM team_members WHERE user_id = ?)
+                        """, userId);
+                SyncRepository.touch(conn,
+                        "UPDATE projects SET row_version = row_version + 1 WHERE manager_id = ?", userId);
+                int deleted;
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM users WHERE id = ?")) {
+                    stmt.setInt(1, userId);
+                    deleted = stmt.executeUpdate();
+                }
+                if (deleted > 0) {
+                    SyncRepository.writeTombstone(conn, "users", userId);
+                }
+                return deleted;
+            });
+
+            // The user disappears from its own entries, from the teams it belonged to and as the
+            // manager of its projects. Dropped after the outermost commit, so a load in between
+            // cannot cache the old rows again.
+            TransactionManager.afterCommit(() -> {
+                EntityCaches.invalidateUser(userId);
+                EntityCaches.TEAMS.invalidateAll();
+                EntityCaches.PROJECTS.invalidateAll();
+            });
+
+            if (affected > 0) {
+                ChangeEvents.publish(ChangeEvents.Entity.USER, ChangeEvents.Kind.DELETED, userId);
+            }
             return affected > 0;
 
         } catch (SQLException e) {
@@ -0,0 +1,124 @@
+package service;
+
+import model.DashboardSummary;
+import repository.DashboardRepository;
+import util.ChangeEvents;
+import util.ChangeEvents.Change;
+
+/**
+ * Keeps the dashboard totals in memory so the Dashboard tab renders without hitting the database.
+ * <p>
+ * The totals are loaded with a single query and reused for a short time
+ * ({@code dashboard.summaryTtlMillis}). Writes made through the repositories adjust the cached
+ * totals as they are committed, so the numbers stay current between reloads; the TTL only
+ * catches changes made outside this application.
+ */
+public class DashboardSummaryService {
+
+    /**
+     * Time after which the totals are reloaded from the database
+     */
+    private static final long TTL_MILLIS = Long.getLong("dashboard.summaryTtlMillis", 30_000L);
+
+    /**
+     * Repository running the summary query
+     */
+    private static final DashboardRepository repository = new DashboardRepository();
+
+    /**
+     * Last known totals, or null before the first load
+     */
+    private static DashboardSummary summary;
+
+    /**
+     * Time the totals were loaded from the database
+     */
+    private static long loadedAt;
+
+    /**
+     * Number of total-changing events applied, used to detect changes that race with a reload
+     */
+    private static long changeSequence;
+
+    static {
+        ChangeEvents.subscribe(DashboardSummaryService::apply);
+    }
+
+    private DashboardSummaryService() {
+    }
+
+    /**
+     * Returns the totals, reloading them if they are missing or older than the TTL.
+     *
+     * @return current totals, or the last known ones if the reload failed
+     */
+    public static DashboardSummary getSummary() {
+        synchronized (DashboardSummaryService.class) {
+            if (summary != null && !isStale()) {
+                return summary;
+            }
+        }
+        return refresh();
+    }
+
+    /**
+     * Returns the last known totals without touching the database.
+     *
+     * @return cached totals, or null if they were never loaded
+     */
+    public static synchronized DashboardSummary peek() {
+        return summary;
+    }
+
+    /**
+     * Returns whether the cached totals are missing or older than the TTL.
+     *
+     * @return true if {@link #getSummary()} would query the database
+     */
+    public static synchronized boolean isStale() {
+        return summary == null || System.currentTimeMillis() - loadedAt >= TTL_MILLIS;
+    }
+
+    /**
+     * Reloads the totals from the database. If a change is applied while the query runs, it
+     * may or may not be counted in the result, so the result is kept but marked stale and the
+     * next {@link #getSummary()} loads again.
+     *
+     * @return fresh totals, or the last known ones if the query failed
+     */
+    public static DashboardSummary refresh() {
+        long sequence;
+        synchronized (DashboardSummaryService.class) {
+            sequence = changeSequence;
+        }
+        DashboardSummary loaded = repository.loadSummary();
+        synchronized (DashboardSummaryService.class) {
+            if (loaded != null) {
+                summary = loaded;
+                loadedAt = changeSequence == sequence ? System.currentTimeMillis() : 0;
+            }
+            return summary;
+        }
+    }
+
+    /**
+     * Adjusts the cached totals for a committed change.
+     */
+    private static synchronized void apply(Change change) {
+        int delta = switch (change.kind()) {
+            case CREATED -> 1;
+            case DELETED -> -1;
+            case UPDATED -> 0;
+        };
+        if (delta == 0) return;
+
+        changeSequence++;
+        if (summary == null) return;
+
+        summary = switch (change.entity()) {
+            case USER -> summary.plus(delta, 0, 0);
+            case PROJECT -> summary.plus(0, delta, 0);
+            case TEAM -> summary.plus(0, 0, delta);
+        };
+    }
+}
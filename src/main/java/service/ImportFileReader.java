@@ -0,0 +1,279 @@
+package service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads flat records from CSV or JSON import files.
+ * <p>
+ * CSV files need a header row; fields may be quoted with {@code "} (doubled quotes escape a quote).
+ * JSON files must contain an array of flat objects whose values are strings, numbers, booleans or null.
+ * Keys are lower-cased so both formats are read the same way.
+ */
+class ImportFileReader {
+
+    /**
+     * One record of the import file.
+     *
+     * @param line   line number in the file (1-based), used in error reports
+     * @param fields field values by lower-cased name
+     */
+    record ImportRecord(int line, Map<String, String> fields) {
+
+        /**
+         * Returns a trimmed field value.
+         *
+         * @param name field name
+         * @return trimmed value, or an empty string if absent
+         */
+        String get(String name) {
+            String value = fields.get(name);
+            return value != null ? value.trim() : "";
+        }
+    }
+
+    private ImportFileReader() {
+    }
+
+    /**
+     * Reads all records of a file, choosing the format by file extension.
+     *
+     * @param file CSV or JSON file
+     * @return records in file order
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    static List<ImportRecord> read(Path file) throws IOException {
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        if (content.startsWith("\uFEFF")) {
+            content = content.substring(1);
+        }
+        if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")) {
+            return new JsonParser(content).parseRecords();
+        }
+        return parseCsv(content);
+    }
+
+    /**
+     * Parses CSV content with a header row.
+     */
+    private static List<ImportRecord> parseCsv(String content) throws IOException {
+        List<ImportRecord> records = new ArrayList<>();
+        List<String> header = null;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int line = 1;
+        int recordLine = 1;
+
+        for (int i = 0; i <= content.length(); i++) {
+            char c = i < content.length() ? content.charAt(i) : '\n';
+
+            if (quoted) {
+                if (c == '"' && i + 1 < content.length() && content.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    if (c == '\n') line++;
+                    field.append(c);
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> quoted = true;
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                }
+                case '\r' -> {
+                    // Ignored; '\n' ends the record
+                }
+                case '\n' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    boolean blank = fields.size() == 1 && fields.get(0).isBlank();
+                    if (!blank) {
+                        if (header == null) {
+                            header = new ArrayList<>();
+                            for (String name : fields) {
+                                header.add(name.trim().toLowerCase(Locale.ROOT));
+                            }
+                        } else {
+                            Map<String, String> values = new LinkedHashMap<>();
+                            for (int f = 0; f < header.size() && f < fields.size(); f++) {
+                                values.put(header.get(f), fields.get(f));
+                            }
+                            records.add(new ImportRecord(recordLine, values));
+                        }
+                    }
+                    fields = new ArrayList<>();
+                    line++;
+                    recordLine = line;
+                }
+                default -> field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IOException("Unterminated quoted field starting on line " + recordLine);
+        }
+        return records;
+    }
+
+    /**
+     * Minimal parser for a JSON array of flat objects.
+     */
+    private static final class JsonParser {
+
+        private final String text;
+        private int pos;
+        private int line = 1;
+
+        private JsonParser(String text) {
+            this.text = text;
+        }
+
+        /**
+         * Parses the top-level array.
+         */
+        private List<ImportRecord> parseRecords() throws IOException {
+            List<ImportRecord> records = new ArrayList<>();
+            expect('[');
+            if (peek() == ']') {
+                pos++;
+                return records;
+            }
+            do {
+                skipWhitespace();
+                records.add(parseObject());
+            } while (consumeSeparator(']'));
+            return records;
+        }
+
+        /**
+         * Parses one flat object into a record.
+         */
+        private ImportRecord parseObject() throws IOException {
+            int startLine = line;
+            Map<String, String> values = new LinkedHashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                pos++;
+                return new ImportRecord(startLine, values);
+            }
+            do {
+                skipWhitespace();
+                String key = parseString();
+                expect(':');
+                values.put(key.toLowerCase(Locale.ROOT), parseValue());
+            } while (consumeSeparator('}'));
+            return new ImportRecord(startLine, values);
+        }
+
+        /**
+         * Parses a scalar value; numbers and booleans are kept as their text.
+         */
+        private String parseValue() throws IOException {
+            char c = peek();
+            if (c == '"') {
+                return parseString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("Nested values are not supported");
+            }
+            int start = pos;
+            while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw error("Expected a value");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        /**
+         * Parses a quoted string with standard escapes.
+         */
+        private String parseString() throws IOException {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) break;
+                char e = text.charAt(pos++);
+                switch (e) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > text.length()) throw error("Invalid unicode escape");
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("Invalid unicode escape");
+                        }
+                        pos += 4;
+                    }
+                    default -> sb.append(e);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        /**
+         * Consumes a ',' (returns true) or the closing character (returns false).
+         */
+        private boolean consumeSeparator(char close) throws IOException {
+            char c = peek();
+            pos++;
+            if (c == ',') return true;
+            if (c == close) return false;
+            throw error("Expected ',' or '" + close + "'");
+        }
+
+        private void expect(char expected) throws IOException {
+            if (peek() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+            pos++;
+        }
+
+        private char peek() throws IOException {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw error("Unexpected end of file");
+            }
+            return text.charAt(pos);
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                if (text.charAt(pos) == '\n') line++;
+                pos++;
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " on line " + line);
+        }
+    }
+}
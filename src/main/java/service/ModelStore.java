@@ -0,0 +1,148 @@
+package service;
+
+import repository.ChangeSet;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps a displayed, sorted window of rows up to date by applying delta changes instead of
+ * reloading the window.
+ * <p>
+ * {@link #track()} records a sync point before the first page is loaded. Each
+ * {@link #pullInto(List, boolean)} then fetches only the rows changed (and the IDs deleted)
+ * since the last sync point and merges them into the window: changed rows replace their old
+ * copy, new rows are inserted when they sort inside the window, and rows that were deleted or
+ * now sort past the window's end are removed. Rows after the window are left to the next
+ * page load. The sync point only moves once the caller confirms the merged window was shown.
+ * Methods are called from background threads, one at a time per store.
+ *
+ * @param <T> row type
+ */
+public class ModelStore<T> {
+
+    /**
+     * Fetches the changes since a sync point (null on failure)
+     */
+    private final Function<Timestamp, ChangeSet<T>> changes;
+
+    /**
+     * Reads the current database time
+     */
+    private final Supplier<Timestamp> syncPoint;
+
+    /**
+     * Row identity and window order
+     */
+    private final ToIntFunction<T> idOf;
+    private final Comparator<T> order;
+
+    /**
+     * Sync point of the last load or applied pull, or null before {@link #track()}
+     */
+    private volatile Timestamp token;
+
+    /**
+     * Sync point of the last pull, until its result is confirmed as applied
+     */
+    private volatile Timestamp pending;
+
+    /**
+     * Creates a store.
+     *
+     * @param changes   fetches the changes since a sync point
+     * @param syncPoint reads the current database time
+     * @param idOf      row ID
+     * @param order     order of the displayed window (must match the page query)
+     */
+    public ModelStore(Function<Timestamp, ChangeSet<T>> changes, Supplier<Timestamp> syncPoint,
+                      ToIntFunction<T> idOf, Comparator<T> order) {
+        this.changes = changes;
+        this.syncPoint = syncPoint;
+        this.idOf = idOf;
+        this.order = order;
+    }
+
+    /**
+     * Starts tracking changes from now. Call right before loading the first page, so no
+     * change committed during the load is missed.
+     */
+    public void track() {
+        pending = null;
+        token = syncPoint.get();
+    }
+
+    /**
+     * Returns whether the store has a sync point to pull changes from.
+     *
+     * @return true after a successful {@link #track()}
+     */
+    public boolean isTracking() {
+        return token != null;
+    }
+
+    /**
+     * Applies the changes since the last sync point to a displayed window.
+     *
+     * @param displayed rows currently displayed, in window order
+     * @param complete  true if the window holds every row (no more pages), so new rows
+     *                  sorting after its end are inserted too
+     * @return updated window in order, or null if not tracking or the changes could not be read
+     */
+    public List<T> pullInto(List<T> displayed, boolean complete) {
+        Timestamp since = token;
+        if (since == null) {
+            return null;
+        }
+        ChangeSet<T> changeSet = changes.apply(since);
+        if (changeSet == null) {
+            return null;
+        }
+
+        Map<Integer, T> window = new LinkedHashMap<>();
+        for (T row : displayed) {
+            window.put(idOf.applyAsInt(row), row);
+        }
+        T end = displayed.isEmpty() ? null : displayed.get(displayed.size() - 1);
+
+        Set<Integer> deleted = new HashSet<>(changeSet.deletedIds());
+        window.keySet().removeAll(deleted);
+        for (T row : changeSet.changed()) {
+            int id = idOf.applyAsInt(row);
+            if (deleted.contains(id)) {
+                continue;
+            }
+            if (complete || (end != null && order.compare(row, end) <= 0)) {
+                window.put(id, row);
+            } else {
+                // Sorts past the loaded window now; the next page load will bring it back
+                window.remove(id);
+            }
+        }
+
+        List<T> merged = new ArrayList<>(window.values());
+        merged.sort(order);
+        pending = changeSet.syncedAt();
+        return merged;
+    }
+
+    /**
+     * Moves the sync point past the last pull once its result has been applied. A pull whose
+     * result was dropped (e.g. because the user navigated away) is simply repeated next time.
+     */
+    public void confirmPull() {
+        if (pending != null) {
+            token = pending;
+            pending = null;
+        }
+    }
+}
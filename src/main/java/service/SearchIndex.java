@@ -0,0 +1,362 @@
+package service;
+
+import util.ChangeEvents.Entity;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over short text fields of users, projects and teams.
+ * <p>
+ * Text is split into terms that are lower-cased and stripped of accents ("João" and "joao"
+ * are the same term), and every term maps to the sorted list of documents containing it.
+ * Terms are kept in a {@link TreeMap}, so all terms starting with a query word are one
+ * range scan away. A query matches the documents containing, for every query word, a term
+ * starting with that word.
+ * <p>
+ * Documents are never changed in place: an update adds a new document and marks the old one
+ * deleted, so posting lists only ever grow at their end and stay sorted. Deleted documents
+ * are skipped while searching and dropped when they outnumber the live ones. Reads and
+ * writes are guarded by a read-write lock, so searches run concurrently.
+ */
+public class SearchIndex {
+
+    /**
+     * A search result.
+     *
+     * @param entity kind of entity
+     * @param id     ID of the row
+     * @param title  main text shown for the result (name)
+     * @param detail secondary text shown for the result (e.g. email), or null
+     */
+    public record Hit(Entity entity, int id, String title, String detail) {
+    }
+
+    /**
+     * A document: the result it stands for and the terms it was indexed under.
+     */
+    private record Doc(Hit hit, String[] terms) {
+    }
+
+    /**
+     * Combining marks left by the canonical decomposition of accented letters
+     */
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * Characters removed to join a numeric field such as a CPF
+     */
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    /**
+     * Number of documents scanned between two cancellation checks
+     */
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+    /**
+     * Deleted documents below which the index is never compacted
+     */
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+    /**
+     * Documents by document number; null once deleted
+     */
+    private final List<Doc> docs = new ArrayList<>();
+
+    /**
+     * Document number of each indexed row, keyed by {@link #key(Entity, int)}
+     */
+    private final Map<Long, Integer> docByRow = new HashMap<>();
+
+    /**
+     * Posting lists: document numbers containing each term, in ascending order
+     */
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+    /**
+     * Number of deleted documents still referenced by the posting lists
+     */
+    private int deleted;
+
+    /**
+     * Guards all of the above
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a row to the index or replaces its previous entry.
+     *
+     * @param entity kind of entity
+     * @param id     ID of the row
+     * @param title  main text shown for the result; indexed
+     * @param detail secondary text shown for the result, or null
+     * @param fields further texts to index (descriptions, emails...); nulls are ignored
+     */
+    public void put(Entity entity, int id, String title, String detail, String... fields) {
+        Set<String> docTerms = new LinkedHashSet<>();
+        addTerms(docTerms, title);
+        for (String field : fields) {
+            addTerms(docTerms, field);
+        }
+        Doc doc = new Doc(new Hit(entity, id, title, detail), docTerms.toArray(new String[0]));
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(entity, id);
+            int number = docs.size();
+            docs.add(doc);
+            docByRow.put(key(entity, id), number);
+            for (String term : doc.terms()) {
+                terms.computeIfAbsent(term, t -> new Postings()).add(number);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a row from the index. Does nothing if it is not indexed.
+     *
+     * @param entity kind of entity
+     * @param id     ID of the row
+     */
+    public void remove(Entity entity, int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(entity, id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all rows.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            docByRow.clear();
+            terms.clear();
+            deleted = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed rows.
+     *
+     * @return live documents
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByRow.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the rows matching every word of a query, each word as a prefix of some term of
+     * the row. Rows with a term equal to the most selective word come first.
+     *
+     * @param query     text typed by the user
+     * @param limit     maximum number of results
+     * @param cancelled checked while scanning; when it returns true the search stops early
+     * @return matching rows, at most {@code limit}; empty for a blank or cancelled query
+     */
+    public List<Hit> search(String query, int limit, BooleanSupplier cancelled) {
+        String[] words = normalizedTerms(query).toArray(new String[0]);
+        List<Hit> hits = new ArrayList<>();
+        if (words.length == 0 || limit <= 0) {
+            return hits;
+        }
+        // Scan the postings of the longest word, the one likely to match the fewest rows
+        Arrays.sort(words, (a, b) -> b.length() - a.length());
+        String lead = words[0];
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> seen = new HashSet<>();
+            int scanned = 0;
+            for (Map.Entry<String, Postings> entry : terms.subMap(lead, lead + Character.MAX_VALUE).entrySet()) {
+                Postings postings = entry.getValue();
+                for (int i = 0; i < postings.size; i++) {
+                    if (++scanned % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                        return List.of();
+                    }
+                    int number = postings.numbers[i];
+                    Doc doc = docs.get(number);
+                    if (doc == null || !matchesAll(doc, words) || !seen.add(number)) {
+                        continue;
+                    }
+                    hits.add(doc.hit());
+                    if (hits.size() >= limit) {
+                        return hits;
+                    }
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-cased terms without accents. Anything that is not a letter or a
+     * digit separates terms.
+     *
+     * @param text text to split, or null
+     * @return distinct terms in order of appearance
+     */
+    static Set<String> normalizedTerms(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return result;
+        }
+        // Most text is plain ASCII, which has no accents to strip
+        String folded = isAscii(text) ? text
+                : MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean inTerm = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (inTerm && start < 0) {
+                start = i;
+            } else if (!inTerm && start >= 0) {
+                result.add(folded.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether a text only has ASCII characters.
+     */
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the terms of a field. Fields split into several terms (e.g. a CPF such as
+     * {@code 123.456.789-00}) are also indexed joined together, so they can be searched
+     * with or without punctuation.
+     */
+    private static void addTerms(Set<String> docTerms, String field) {
+        Set<String> fieldTerms = normalizedTerms(field);
+        docTerms.addAll(fieldTerms);
+        if (fieldTerms.size() > 1 && fieldTerms.stream().allMatch(term -> term.chars().allMatch(Character::isDigit))) {
+            docTerms.add(NON_DIGITS.matcher(field).replaceAll(""));
+        }
+    }
+
+    /**
+     * Returns whether every query word is a prefix of one of the document's terms.
+     */
+    private static boolean matchesAll(Doc doc, String[] words) {
+        for (int w = 1; w < words.length; w++) {
+            boolean found = false;
+            for (String term : doc.terms()) {
+                if (term.startsWith(words[w])) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks the current document of a row as deleted. Caller holds the write lock.
+     */
+    private void removeLocked(Entity entity, int id) {
+        Integer number = docByRow.remove(key(entity, id));
+        if (number != null) {
+            docs.set(number, null);
+            deleted++;
+        }
+    }
+
+    /**
+     * Renumbers the live documents and rebuilds the posting lists without the deleted ones,
+     * once the deleted documents outnumber the live ones. Caller holds the write lock.
+     */
+    private void compactIfNeeded() {
+        if (deleted < MIN_DELETED_TO_COMPACT || deleted <= docByRow.size()) {
+            return;
+        }
+        List<Doc> live = new ArrayList<>(docByRow.size());
+        for (Doc doc : docs) {
+            if (doc != null) {
+                live.add(doc);
+            }
+        }
+        docs.clear();
+        docByRow.clear();
+        terms.clear();
+        deleted = 0;
+        for (Doc doc : live) {
+            int number = docs.size();
+            docs.add(doc);
+            docByRow.put(key(doc.hit().entity(), doc.hit().id()), number);
+            for (String term : doc.terms()) {
+                terms.computeIfAbsent(term, t -> new Postings()).add(number);
+            }
+        }
+    }
+
+    /**
+     * Key of a row in {@link #docByRow}.
+     */
+    private static long key(Entity entity, int id) {
+        return ((long) entity.ordinal() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Growable array of document numbers, appended in ascending order.
+     */
+    private static final class Postings {
+
+        /**
+         * Document numbers; only the first {@link #size} are used. Starts with room for one,
+         * since most terms (logins, emails, CPFs) belong to a single row.
+         */
+        private int[] numbers = new int[1];
+        private int size;
+
+        /**
+         * Appends a document number.
+         */
+        void add(int number) {
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, Math.max(4, size * 2));
+            }
+            numbers[size++] = number;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package service;
+
+import model.Project;
+import model.Team;
+import model.User;
+import repository.ProjectRepository;
+import repository.TeamRepository;
+import repository.UserRepository;
+import util.Async;
+import util.ChangeEvents;
+import util.ChangeEvents.Change;
+import util.ChangeEvents.Entity;
+import util.Logger;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search across users, projects and teams, served from a {@link SearchIndex}.
+ * <p>
+ * The index is filled once by streaming every row ({@link #ensureLoaded()}), then kept up to
+ * date from the committed {@link ChangeEvents}: deleted rows are dropped right away, and
+ * created or updated rows are re-read in the background through the repositories' caches.
+ * Users are indexed by name, email, login and CPF; projects and teams by name and description.
+ */
+public final class SearchService {
+
+    /**
+     * The shared index
+     */
+    private static final SearchIndex index = new SearchIndex();
+
+    /**
+     * Repositories used to fill the index and re-read changed rows
+     */
+    private static final UserRepository users = new UserRepository();
+    private static final ProjectRepository projects = new ProjectRepository();
+    private static final TeamRepository teams = new TeamRepository();
+
+    /**
+     * Rows fetched per round trip while loading (same property as the repositories' streams)
+     */
+    private static final int FETCH_SIZE = Integer.getInteger("db.stream.fetchSize", 1000);
+
+    /**
+     * Initial load of the index, or null before {@link #ensureLoaded()}
+     */
+    private static CompletableFuture<Void> loading;
+
+    /**
+     * Whether the initial load has finished, and the changes committed before that
+     */
+    private static volatile boolean loaded;
+    private static final Set<Change> changedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    static {
+        ChangeEvents.subscribe(SearchService::apply);
+    }
+
+    private SearchService() {
+    }
+
+    /**
+     * Fills the index in the background unless it was already loaded or is loading.
+     * A load that failed is started again.
+     *
+     * @return future completed once the index holds every row, or failed if it could not be read
+     */
+    public static synchronized CompletableFuture<Void> ensureLoaded() {
+        if (loading == null || loading.isCompletedExceptionally()) {
+            loading = CompletableFuture.runAsync(SearchService::load);
+        }
+        return loading;
+    }
+
+    /**
+     * Searches the index on the worker pool once the initial load has finished. No worker
+     * waits for the load meanwhile, and a query cancelled before then is never run.
+     *
+     * @param query     text typed by the user
+     * @param limit     maximum number of results
+     * @param cancelled returns true once the result is no longer wanted
+     * @return future completed with the matching rows, or failed if the index could not be loaded
+     */
+    public static CompletableFuture<List<SearchIndex.Hit>> search(String query, int limit, BooleanSupplier cancelled) {
+        return ensureLoaded().thenCompose(ignored -> cancelled.getAsBoolean()
+                ? CompletableFuture.completedFuture(List.of())
+                : Async.supply(() -> index.search(query, limit, cancelled)));
+    }
+
+    /**
+     * Streams every user, project and team into the index, then re-applies the changes
+     * committed meanwhile, since the stream may have read an older copy of those rows.
+     * Throws if a stream fails, so the load is not marked as done and is tried again.
+     */
+    private static void load() {
+        long start = System.nanoTime();
+        try {
+            putAll(users.streamAll(FETCH_SIZE), SearchService::put);
+            putAll(projects.streamAll(FETCH_SIZE), SearchService::put);
+            putAll(teams.streamAll(FETCH_SIZE), SearchService::put);
+        } catch (RuntimeException e) {
+            Logger.error("Search index load failed: " + e.getMessage());
+            throw e;
+        }
+
+        loaded = true;
+        for (Change change : changedWhileLoading) {
+            apply(change);
+        }
+        changedWhileLoading.clear();
+        Logger.info(String.format("Search index loaded: %d rows in %.0fms",
+                index.size(), (System.nanoTime() - start) / 1_000_000.0));
+    }
+
+    /**
+     * Indexes every row of a stream and closes it.
+     */
+    private static <T> void putAll(Stream<T> rows, Consumer<T> put) {
+        try (rows) {
+            rows.forEach(put);
+        }
+    }
+
+    /**
+     * Updates the index for a committed change. Runs on the writing thread, so rows are
+     * re-read in the background.
+     */
+    private static void apply(Change change) {
+        if (!loaded) {
+            changedWhileLoading.add(change);
+        }
+        if (change.kind() == ChangeEvents.Kind.DELETED) {
+            index.remove(change.entity(), change.id());
+            return;
+        }
+        Async.runDetached(() -> reindex(change.entity(), change.id()));
+    }
+
+    /**
+     * Re-reads a row and indexes it, or drops it if it no longer exists.
+     */
+    private static void reindex(Entity entity, int id) {
+        switch (entity) {
+            case USER -> {
+                User user = users.findById(id);
+                if (user != null) {
+                    put(user);
+                } else {
+                    index.remove(entity, id);
+                }
+            }
+            case PROJECT -> {
+                Project project = projects.findById(id);
+                if (project != null) {
+                    put(project);
+                } else {
+                    index.remove(entity, id);
+                }
+            }
+            case TEAM -> {
+                Team team = teams.findById(id);
+                if (team != null) {
+                    put(team);
+                } else {
+                    index.remove(entity, id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indexes a user.
+     */
+    private static void put(User user) {
+        index.put(Entity.USER, user.getId(), user.getName(), user.getEmail(),
+                user.getEmail(), user.getLogin(), user.getCpf());
+    }
+
+    /**
+     * Indexes a project.
+     */
+    private static void put(Project project) {
+        index.put(Entity.PROJECT, project.getId(), project.getName(),
+                project.getStatus() != null ? project.getStatus().name() : null, project.getDescription());
+    }
+
+    /**
+     * Indexes a team.
+     */
+    private static void put(Team team) {
+        index.put(Entity.TEAM, team.getId(), team.getName(), null, team.getDescription());
+    }
+}
@@ -0,0 +1,378 @@
+package service;
+
+import enums.UserRole;
+import model.User;
+import repository.UserRepository;
+import service.ImportFileReader.ImportRecord;
+import util.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Imports users in bulk from a CSV or JSON file.
+ * <p>
+ * The import runs in stages so the expensive work is only done for rows that can be inserted:
+ * <ol>
+ *     <li>parse and validate every row, rejecting duplicates inside the file;</li>
+ *     <li>check login, email and CPF against the database with a few set-based queries;</li>
+ *     <li>hash passwords in parallel on a bounded pool sized to the CPU cores, one batch ahead
+ *     of the inserts;</li>
+ *     <li>insert each batch in one transaction, falling back to row-by-row inserts to pinpoint
+ *     the failing rows if the batch is rejected.</li>
+ * </ol>
+ * Rejected rows are written to an error file next to the input ({@code <file>.errors.csv}).
+ * Expected fields: {@code full_name}, {@code cpf}, {@code email}, {@code login}, {@code password},
+ * {@code role} (optional, defaults to COLLABORATOR).
+ */
+public class UserImportService {
+
+    /**
+     * Number of rows inserted per transaction
+     */
+    private static final int BATCH_SIZE = Integer.getInteger("import.batchSize", 500);
+
+    /**
+     * Progress of a running import.
+     *
+     * @param processed     rows handled so far (imported or rejected)
+     * @param total         rows in the file
+     * @param imported      rows inserted
+     * @param failed        rows rejected
+     * @param rowsPerSecond throughput since the import started
+     */
+    public record ImportProgress(int processed, int total, int imported, int failed, double rowsPerSecond) {
+    }
+
+    /**
+     * Result of a finished import.
+     *
+     * @param total         rows in the file
+     * @param imported      rows inserted
+     * @param failed        rows rejected
+     * @param elapsedMillis total duration
+     * @param errorFile     file listing the rejected rows, or null if none were rejected
+     */
+    public record ImportReport(int total, int imported, int failed, long elapsedMillis, Path errorFile) {
+
+        /**
+         * Average number of rows handled per second.
+         *
+         * @return throughput in rows/s
+         */
+        public double rowsPerSecond() {
+            return elapsedMillis > 0 ? total * 1000.0 / elapsedMillis : total;
+        }
+    }
+
+    /**
+     * A row waiting to be imported, or the reason it was rejected.
+     */
+    private static final class ImportRow {
+        private final int line;
+        private final User user;
+        private String error;
+
+        private ImportRow(int line, User user, String error) {
+            this.line = line;
+            this.user = user;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Repository used for the duplicate checks and inserts
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Creates an import service.
+     *
+     * @param userRepository user repository
+     */
+    public UserImportService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Imports all users of a file.
+     *
+     * @param file     CSV or JSON file
+     * @param progress receives progress updates after each batch (called on the importing thread)
+     * @return import summary
+     * @throws IOException  if the file cannot be read or the error file cannot be written
+     * @throws SQLException if the existing users cannot be checked; nothing is imported then
+     */
+    public ImportReport importFile(Path file, Consumer<ImportProgress> progress) throws IOException, SQLException {
+        long start = System.nanoTime();
+
+        List<ImportRow> rows = new ArrayList<>();
+        for (ImportRecord record : ImportFileReader.read(file)) {
+            rows.add(toRow(record));
+        }
+        rejectDuplicatesInFile(rows);
+        rejectExistingInDatabase(rows);
+        long validated = System.nanoTime();
+
+        List<ImportRow> pending = new ArrayList<>();
+        int failed = 0;
+        for (ImportRow row : rows) {
+            if (row.error == null) pending.add(row);
+            else failed++;
+        }
+
+        int total = rows.size();
+        int imported = 0;
+        progress.accept(new ImportProgress(failed, total, 0, failed, 0));
+
+        ThreadPoolExecutor hashPool = newHashPool();
+        try {
+            List<List<ImportRow>> batches = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+                batches.add(pending.subList(from, Math.min(from + BATCH_SIZE, pending.size())));
+            }
+
+            // Keep one batch hashing while the previous one is being inserted
+            List<Future<?>> hashing = batches.isEmpty() ? List.of() : submitHashes(hashPool, batches.get(0));
+            for (int b = 0; b < batches.size(); b++) {
+                List<ImportRow> batch = batches.get(b);
+                awaitHashes(hashing, batch);
+                hashing = b + 1 < batches.size() ? submitHashes(hashPool, batches.get(b + 1)) : List.of();
+
+                int inserted = insertBatch(batch);
+                imported += inserted;
+                failed += batch.size() - inserted;
+
+                progress.accept(new ImportProgress(imported + failed, total, imported, failed,
+                        (imported + failed) / seconds(start, System.nanoTime())));
+            }
+        } finally {
+            hashPool.shutdownNow();
+        }
+
+        Path errorFile = failed > 0 ? writeErrorFile(file, rows) : null;
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Logger.info("User import of " + file.getFileName() + ": " + imported + " imported, " + failed
+                + " failed in " + elapsed + " ms (validation " + TimeUnit.NANOSECONDS.toMillis(validated - start)
+                + " ms)");
+
+        return new ImportReport(total, imported, failed, elapsed, errorFile);
+    }
+
+    /**
+     * Converts a file record to an import row, validating the required fields.
+     */
+    private ImportRow toRow(ImportRecord record) {
+        String name = record.get("full_name");
+        if (name.isEmpty()) name = record.get("name");
+        String cpf = record.get("cpf");
+        String email = record.get("email");
+        String login = record.get("login");
+        String password = record.get("password");
+        String roleName = record.get("role");
+
+        User user = new User(0, name, cpf, email, UserRole.COLLABORATOR, login, password);
+
+        if (name.isEmpty() || cpf.isEmpty() || email.isEmpty() || login.isEmpty() || password.isEmpty()) {
+            return new ImportRow(record.line(), user, "Missing required field");
+        }
+        if (!email.contains("@")) {
+            return new ImportRow(record.line(), user, "Invalid email");
+        }
+        if (!roleName.isEmpty()) {
+            try {
+                user.setRole(UserRole.valueOf(roleName.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return new ImportRow(record.line(), user, "Unknown role: " + roleName);
+            }
+        }
+        return new ImportRow(record.line(), user, null);
+    }
+
+    /**
+     * Rejects rows whose login, email or CPF already appeared earlier in the file.
+     */
+    private void rejectDuplicatesInFile(List<ImportRow> rows) {
+        Set<String> logins = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> cpfs = new HashSet<>();
+
+        for (ImportRow row : rows) {
+            if (row.error != null) continue;
+            User user = row.user;
+            if (!logins.add(key(user.getLogin()))) {
+                row.error = "Duplicate login in file";
+            } else if (!emails.add(key(user.getEmail()))) {
+                row.error = "Duplicate email in file";
+            } else if (!cpfs.add(key(user.getCpf()))) {
+                row.error = "Duplicate CPF in file";
+            }
+        }
+    }
+
+    /**
+     * Rejects rows whose login, email or CPF is already used by a stored user.
+     * Runs one set-based lookup per column instead of one query per row.
+     */
+    private void rejectExistingInDatabase(List<ImportRow> rows) throws SQLException {
+        List<String> logins = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        List<String> cpfs = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.error != null) continue;
+            logins.add(row.user.getLogin());
+            emails.add(row.user.getEmail());
+            cpfs.add(row.user.getCpf());
+        }
+
+        Set<String> takenLogins = userRepository.findExistingValues("login", logins);
+        Set<String> takenEmails = userRepository.findExistingValues("email", emails);
+        Set<String> takenCpfs = userRepository.findExistingValues("cpf", cpfs);
+
+        for (ImportRow row : rows) {
+            if (row.error != null) continue;
+            if (takenLogins.contains(key(row.user.getLogin()))) {
+                row.error = "Login already exists";
+            } else if (takenEmails.contains(key(row.user.getEmail()))) {
+                row.error = "Email already exists";
+            } else if (takenCpfs.contains(key(row.user.getCpf()))) {
+                row.error = "CPF already exists";
+            }
+        }
+    }
+
+    /**
+     * Creates the hashing pool: one thread per core and a bounded queue holding two batches,
+     * so at most the batch being inserted and the next one are in memory as pending tasks.
+     * When the queue is full the submitting thread hashes the row itself.
+     */
+    private static ThreadPoolExecutor newHashPool() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(BATCH_SIZE * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Submits the password hashing of a batch.
+     */
+    private static List<Future<?>> submitHashes(ThreadPoolExecutor pool, List<ImportRow> batch) {
+        List<Future<?>> futures = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            futures.add(pool.submit(() -> row.user.setPassword(UserRepository.hashPassword(row.user.getPassword()))));
+        }
+        return futures;
+    }
+
+    /**
+     * Waits until every password of a batch is hashed; rows whose hashing failed are rejected.
+     */
+    private static void awaitHashes(List<Future<?>> futures, List<ImportRow> batch) {
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (ExecutionException e) {
+                batch.get(i).error = "Password hashing failed: " + e.getCause().getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("User import interrupted", e);
+            }
+        }
+    }
+
+    /**
+     * Inserts a batch in one transaction. If the database rejects the batch, the rows are
+     * retried one by one so only the offending rows are reported.
+     *
+     * @return number of rows inserted
+     */
+    private int insertBatch(List<ImportRow> batch) {
+        List<ImportRow> ready = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            if (row.error == null) ready.add(row);
+        }
+        if (ready.isEmpty()) return 0;
+
+        try {
+            userRepository.insertHashedUsers(ready.stream().map(row -> row.user).toList());
+            return ready.size();
+        } catch (SQLException e) {
+            Logger.warn("Batch of " + ready.size() + " users rejected, retrying row by row: " + e.getMessage());
+        }
+
+        int inserted = 0;
+        for (ImportRow row : ready) {
+            try {
+                userRepository.insertHashedUsers(List.of(row.user));
+                inserted++;
+            } catch (SQLException e) {
+                row.error = e.getMessage();
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Writes the rejected rows to {@code <file>.errors.csv}.
+     */
+    private static Path writeErrorFile(Path file, List<ImportRow> rows) throws IOException {
+        Path errorFile = file.resolveSibling(file.getFileName() + ".errors.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+            writer.write("line,login,error");
+            writer.newLine();
+            for (ImportRow row : rows) {
+                if (row.error == null) continue;
+                writer.write(row.line + "," + csv(row.user.getLogin()) + "," + csv(row.error));
+                writer.newLine();
+            }
+        }
+        return errorFile;
+    }
+
+    /**
+     * Quotes a CSV value when needed.
+     */
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * Normalizes a unique value for comparison (the database collation is case-insensitive).
+     */
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Seconds between two nano timestamps, never zero.
+     */
+    private static double seconds(long from, long to) {
+        return Math.max(1, to - from) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,157 @@
+package util;
+
+import javafx.application.Platform;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking work (JDBC, hashing) off the JavaFX Application Thread and hands the
+ * results back to the UI.
+ * <p>
+ * Work is tagged with the current navigation generation. When the user navigates to another
+ * screen, {@link #cancelPending()} starts a new generation and cancels the futures of the old
+ * one, so a slow load of the previous screen can never update the new one.
+ * The worker pool uses daemon threads and is sized by {@code async.threads}
+ * (defaults to the connection pool maximum of 10).
+ */
+public final class Async {
+
+    /**
+     * Number of worker threads; more than the connection pool size would only queue on the pool
+     */
+    private static final int THREADS = Integer.getInteger("async.threads", 10);
+
+    /**
+     * Worker pool for blocking work
+     */
+    private static final ExecutorService EXECUTOR = newExecutor();
+
+    /**
+     * Current navigation generation
+     */
+    private static final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Futures of the current generation that have not completed yet
+     */
+    private static final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+    private Async() {
+    }
+
+    /**
+     * Runs work on the worker pool.
+     *
+     * @param work blocking work
+     * @param <T>  result type
+     * @return future completed with the work result; cancelled on navigation
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(work, EXECUTOR);
+        inFlight.add(future);
+        future.whenComplete((result, error) -> inFlight.remove(future));
+        return future;
+    }
+
+    /**
+     * Runs follow-up work on the worker pool that must finish even if the user navigates away,
+     * such as writing back a result. It is not cancelled by {@link #cancelPending()}.
+     *
+     * @param work blocking work; failures are logged
+     */
+    public static void runDetached(Runnable work) {
+        EXECUTOR.execute(() -> {
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                Logger.error("Background task failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Delivers the outcome of a future on the JavaFX Application Thread, unless the user
+     * navigated away (or the future was cancelled) in the meantime.
+     *
+     * @param future    future to observe
+     * @param onSuccess receives the result on the FX thread
+     * @param onError   receives the failure cause on the FX thread
+     * @param <T>       result type
+     */
+    public static <T> void onFx(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        long startedIn = generation.get();
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException || (error != null && error.getCause() instanceof CancellationException)) {
+                return;
+            }
+            Platform.runLater(() -> {
+                if (generation.get() != startedIn) {
+                    return;
+                }
+                if (error == null) {
+                    onSuccess.accept(result);
+                } else {
+                    onError.accept(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                }
+            });
+        });
+    }
+
+    /**
+     * Delivers the result of a future on the JavaFX Application Thread, logging failures.
+     *
+     * @param future    future to observe
+     * @param onSuccess receives the result on the FX thread
+     * @param <T>       result type
+     */
+    public static <T> void onFx(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        onFx(future, onSuccess, error -> Logger.error("Background task failed: " + error.getMessage()));
+    }
+
+    /**
+     * Starts a new navigation generation: pending results of the previous screen are dropped
+     * and its futures are cancelled. Work already running finishes, but its result is ignored.
+     */
+    public static void cancelPending() {
+        generation.incrementAndGet();
+        for (CompletableFuture<?> future : inFlight) {
+            future.cancel(false);
+        }
+        inFlight.clear();
+    }
+
+    /**
+     * Stops the worker pool. Called when the application stops.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    /**
+     * Creates the worker pool with named daemon threads.
+     */
+    private static ExecutorService newExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "async-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,85 @@
+package util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process notification bus for data changes made by the repositories.
+ * <p>
+ * Repositories publish a change after each successful write; services keeping derived data
+ * (counters, indexes) subscribe to update it incrementally instead of re-querying.
+ * Changes made inside a {@link TransactionManager} scope are delivered only after the
+ * transaction commits, and dropped if it rolls back. Listeners run on the thread that made
+ * the change and must be quick and thread-safe.
+ */
+public final class ChangeEvents {
+
+    /**
+     * Kind of entity that changed.
+     */
+    public enum Entity {
+        USER, PROJECT, TEAM
+    }
+
+    /**
+     * Kind of change.
+     */
+    public enum Kind {
+        CREATED, UPDATED, DELETED
+    }
+
+    /**
+     * A committed change to one row.
+     *
+     * @param entity entity type
+     * @param kind   change type
+     * @param id     ID of the changed row
+     */
+    public record Change(Entity entity, Kind kind, int id) {
+    }
+
+    /**
+     * Registered listeners
+     */
+    private static final List<Consumer<Change>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private ChangeEvents() {
+    }
+
+    /**
+     * Registers a listener for all changes.
+     *
+     * @param listener receives each committed change
+     * @return action that removes the listener again
+     */
+    public static Runnable subscribe(Consumer<Change> listener) {
+        LISTENERS.add(listener);
+        return () -> LISTENERS.remove(listener);
+    }
+
+    /**
+     * Publishes a change, deferring delivery until commit inside a transaction scope.
+     *
+     * @param entity entity type
+     * @param kind   change type
+     * @param id     ID of the changed row
+     */
+    public static void publish(Entity entity, Kind kind, int id) {
+        Change change = new Change(entity, kind, id);
+        TransactionManager.afterCommit(() -> dispatch(change));
+    }
+
+    /**
+     * Delivers a change to every listener; a failing listener does not stop the others.
+     */
+    private static void dispatch(Change change) {
+        for (Consumer<Change> listener : LISTENERS) {
+            try {
+                listener.accept(change);
+            } catch (RuntimeException e) {
+                Logger.error("Change listener failed for " + change + ": " + e.getMessage());
+            }
+        }
+    }
+}
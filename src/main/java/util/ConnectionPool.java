@@ -0,0 +1,609 @@
+package util;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Minimal JDBC connection pool used by {@link DBConnection}.
+ * <p>
+ * Physical connections are opened once and handed out wrapped in a proxy whose
+ * {@code close()} returns the connection to the pool instead of closing the socket,
+ * so the repositories keep their usual try-with-resources blocks.
+ * Supports min/max size, idle eviction, validation on borrow, leak detection
+ * and basic metrics.
+ */
+public class ConnectionPool implements DataSource {
+
+    /**
+     * Idle connections used more recently than this are not re-validated on borrow
+     */
+    private static final long VALIDATION_SKIP_MILLIS = 500;
+
+    /**
+     * Interval between housekeeping runs (idle eviction, leak detection, min size refill)
+     */
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 5_000;
+
+    /**
+     * Connection settings
+     */
+    private final String url;
+    private final String user;
+    private final String password;
+
+    /**
+     * Pool sizing and timeouts
+     */
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long maxWaitMillis;
+    private final long leakThresholdMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    /**
+     * Idle connections; used as a stack so the most recently returned (warm) connection is reused first
+     */
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+    /**
+     * Connections currently handed out to callers
+     */
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * One permit per connection that may be borrowed or created at the same time
+     */
+    private final Semaphore permits;
+
+    /**
+     * Background thread for idle eviction, leak detection and min size refill
+     */
+    private final ScheduledExecutorService housekeeper;
+
+    /**
+     * Metrics
+     */
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    /**
+     * Set once the pool has been shut down
+     */
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Receives every prepared statement execution, or null (the default) to record nothing
+     */
+    private volatile StatementListener statementListener;
+
+    /**
+     * Creates a new pool. Physical connections are opened lazily; the housekeeper
+     * fills the pool up to {@code minSize} in the background.
+     *
+     * @param url                      JDBC URL
+     * @param user                     database user
+     * @param password                 database password
+     * @param minSize                  number of idle connections kept open
+     * @param maxSize                  maximum number of physical connections
+     * @param idleTimeoutMillis        idle time after which connections above {@code minSize} are closed
+     * @param maxWaitMillis            maximum time a caller waits for a free connection
+     * @param leakThresholdMillis      time after which a borrowed connection is reported as leaked (0 disables)
+     * @param validationTimeoutSeconds timeout for {@link Connection#isValid(int)} on borrow
+     * @param statementCacheSize       prepared statements cached per connection (0 disables the cache)
+     */
+    public ConnectionPool(String url, String user, String password,
+                          int minSize, int maxSize, long idleTimeoutMillis, long maxWaitMillis,
+                          long leakThresholdMillis, int validationTimeoutSeconds, int statementCacheSize) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the configured max wait time.
+     * Closing the returned connection gives it back to the pool.
+     *
+     * @return pooled connection
+     * @throws SQLException if no connection becomes available in time or a new one cannot be opened
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        waitingThreads.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + maxWaitMillis + "ms waiting for a connection " + getStats());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate();
+            recordWait(System.nanoTime() - start);
+            Connection handle = pooled.lend(leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null);
+            borrowed.add(pooled);
+            return handle;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a valid idle connection, or opens a new one if none is available.
+     */
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            if (isUsable(candidate)) {
+                return candidate;
+            }
+            destroy(candidate);
+        }
+        return create();
+    }
+
+    /**
+     * Validates an idle connection before handing it out.
+     * Connections returned very recently are trusted without a round trip.
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastReturnedAt < VALIDATION_SKIP_MILLIS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens a new physical connection.
+     */
+    private PooledConnection create() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        Logger.info("Opened pooled database connection (" + totalConnections.get() + "/" + maxSize + ")");
+        return new PooledConnection(physical);
+    }
+
+    /**
+     * Closes a physical connection and removes it from the pool.
+     */
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        try {
+            pooled.statementCache.clear();
+            pooled.physical.close();
+        } catch (SQLException e) {
+            Logger.warn("Failed to close pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gives a connection back to the pool, resetting any state the caller changed.
+     */
+    private void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            if (closed.get() || pooled.physical.isClosed()) {
+                destroy(pooled);
+                return;
+            }
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            if (pooled.physical.isReadOnly()) {
+                pooled.physical.setReadOnly(false);
+            }
+            pooled.statementCache.reset();
+            pooled.physical.clearWarnings();
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            Logger.warn("Discarding broken pooled connection: " + e.getMessage());
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Periodic maintenance: evicts idle connections, reports leaks and refills the pool to its min size.
+     */
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Evict connections that stayed idle too long, oldest first, keeping minSize open
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalConnections.get() > minSize) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastReturnedAt > idleTimeoutMillis && idle.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+
+            // Report connections that were borrowed and never returned
+            if (leakThresholdMillis > 0) {
+                for (PooledConnection pooled : borrowed) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdMillis) {
+                        pooled.leakReported = true;
+                        leakCount.incrementAndGet();
+                        Logger.warn("Possible connection leak: borrowed " + (now - pooled.borrowedAt)
+                                + "ms ago and not returned. " + describe(pooled.borrowTrace));
+                    }
+                }
+            }
+
+            // Keep the minimum number of connections ready
+            while (!closed.get() && totalConnections.get() < minSize && permits.tryAcquire()) {
+                try {
+                    PooledConnection pooled = create();
+                    pooled.lastReturnedAt = System.currentTimeMillis();
+                    idle.offerLast(pooled);
+                } finally {
+                    permits.release();
+                }
+            }
+        } catch (SQLException e) {
+            Logger.warn("Failed to refill connection pool: " + e.getMessage());
+        } catch (RuntimeException e) {
+            Logger.error("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Formats the borrow stack trace of a leaked connection.
+     */
+    private static String describe(Throwable trace) {
+        if (trace == null) return "";
+        return trace.getMessage() + ":" + Arrays.stream(trace.getStackTrace())
+                .map(element -> "\n    at " + element)
+                .collect(Collectors.joining());
+    }
+
+    /**
+     * Updates the wait time metrics.
+     */
+    private void recordWait(long waitNanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    /**
+     * Returns a snapshot of the pool metrics.
+     *
+     * @return current pool statistics
+     */
+    public PoolStats getStats() {
+        long borrows = borrowCount.get();
+        return new PoolStats(
+                totalConnections.get(),
+                borrowed.size(),
+                idle.size(),
+                waitingThreads.get(),
+                borrows,
+                borrows == 0 ? 0 : totalWaitNanos.get() / borrows / 1_000_000.0,
+                maxWaitNanos.get() / 1_000_000.0,
+                createdCount.get(),
+                destroyedCount.get(),
+                leakCount.get(),
+                statementHits.get(),
+                statementMisses.get()
+        );
+    }
+
+    /**
+     * Sets a listener told about every execution of a statement prepared on a pooled
+     * connection, with its SQL and parameters. Used by tools such as the query plan audit;
+     * statements prepared before the call are not recorded.
+     *
+     * @param listener receives the executions, or null to stop recording
+     */
+    public void setStatementListener(StatementListener listener) {
+        this.statementListener = listener;
+    }
+
+    /**
+     * Closes all idle connections and stops the housekeeper.
+     * Borrowed connections are closed when they are returned.
+     */
+    public void shutdown() {
+        if (!closed.compareAndSet(false, true)) return;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+        Logger.info("Connection pool closed " + getStats());
+    }
+
+    // ===========================
+    // DataSource
+    // ===========================
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * Receives the prepared statements executed on pooled connections.
+     */
+    @FunctionalInterface
+    public interface StatementListener {
+
+        /**
+         * Called on the executing thread right before a statement runs. For a batch, the
+         * parameters are those of the last row added.
+         *
+         * @param sql        SQL text, with {@code ?} placeholders
+         * @param parameters bound values in placeholder order
+         */
+        void executed(String sql, List<Object> parameters);
+    }
+
+    /**
+     * Snapshot of the pool metrics.
+     *
+     * @param total           physical connections currently open
+     * @param active          connections currently borrowed
+     * @param idle            connections waiting in the pool
+     * @param waiting         threads waiting for a connection
+     * @param borrows         total number of successful borrows
+     * @param avgWaitMillis   average time spent waiting for a connection
+     * @param maxWaitMillis   longest time spent waiting for a connection
+     * @param created         physical connections opened since startup
+     * @param destroyed       physical connections closed since startup
+     * @param leaks           borrowed connections reported as leaked
+     * @param statementHits   prepared statements served from the per-connection cache
+     * @param statementMisses prepared statements that had to be prepared on the server
+     */
+    public record PoolStats(int total, int active, int idle, int waiting, long borrows,
+                            double avgWaitMillis, double maxWaitMillis,
+                            long created, long destroyed, long leaks,
+                            long statementHits, long statementMisses) {
+
+        /**
+         * Fraction of prepareStatement calls served from the statement cache.
+         *
+         * @return hit rate between 0 and 1
+         */
+        public double statementHitRate() {
+            long requests = statementHits + statementMisses;
+            return requests == 0 ? 0 : (double) statementHits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[total=%d, active=%d, idle=%d, waiting=%d, borrows=%d, avgWait=%.2fms, maxWait=%.2fms, leaks=%d, stmtHitRate=%.1f%%]",
+                    total, active, idle, waiting, borrows, avgWaitMillis, maxWaitMillis, leaks, statementHitRate() * 100);
+        }
+    }
+
+    /**
+     * A physical connection plus its pool bookkeeping and the handle of its current borrower.
+     */
+    private final class PooledConnection {
+
+        /**
+         * The real JDBC connection
+         */
+        private final Connection physical;
+
+        /**
+         * Prepared statements cached on this connection
+         */
+        private final StatementCache statementCache;
+
+        /**
+         * Handle of the current borrower, or null while idle
+         */
+        private volatile Handle handle;
+
+        /**
+         * Bookkeeping for validation, eviction and leak detection
+         */
+        private volatile long lastReturnedAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = new StatementCache(physical, () -> {
+                Handle current = handle;
+                return current != null ? current.proxy : null;
+            }, statementCacheSize, statementHits, statementMisses);
+        }
+
+        /**
+         * Marks the connection as handed out and creates the borrower's handle. Each borrow
+         * gets its own handle, so one kept after close() cannot reach the next borrower.
+         *
+         * @return proxy handed to the borrower
+         */
+        private Connection lend(Throwable trace) {
+            borrowedAt = System.currentTimeMillis();
+            borrowTrace = trace;
+            leakReported = false;
+            Handle lent = new Handle();
+            handle = lent;
+            return lent.proxy;
+        }
+
+        /**
+         * Proxy handed to one borrower; its close() returns the connection to the pool and
+         * every later call on it fails.
+         */
+        private final class Handle implements InvocationHandler {
+
+            /**
+             * Proxy handed to the borrower
+             */
+            private final Connection proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+
+            /**
+             * Whether the borrower has closed this handle
+             */
+            private final AtomicBoolean closed = new AtomicBoolean();
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (closed.compareAndSet(false, true)) {
+                            handle = null;
+                            release(PooledConnection.this);
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed.get() || physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Pooled" + physical;
+                    case "unwrap":
+                        if (((Class<?>) args[0]).isInstance(physical)) return physical;
+                        break;
+                    default:
+                        break;
+                }
+
+                if (closed.get()) {
+                    throw new SQLException("Connection is closed");
+                }
+
+                Object result = prepareOrInvoke(method, args);
+                StatementListener listener = statementListener;
+                if (listener != null && method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return RecordingStatement.wrap(statement, (String) args[0], listener);
+                }
+                return result;
+            }
+        }
+
+        /**
+         * Runs a call on the physical connection. prepareStatement(sql) and
+         * prepareStatement(sql, autoGeneratedKeys) go through the statement cache.
+         */
+        private Object prepareOrInvoke(Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("prepareStatement")) {
+                Class<?>[] types = method.getParameterTypes();
+                if (types.length == 1) {
+                    return statementCache.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+                }
+                if (types.length == 2 && types[1] == int.class) {
+                    return statementCache.prepare((String) args[0], (Integer) args[1]);
+                }
+            }
+
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnection {
@@ -9,22 +8,68 @@ public class DBConnection {
     /**
      * JDBC URL for connecting to the MySQL database.
      * Includes parameters to disable SSL, set server timezone, and allow public key retrieval.
+     * Server-side prepared statements are enabled so cached statements are parsed by MySQL only once,
+     * cursor fetch lets statements with a fetch size stream rows in batches, and JDBC batches
+     * of INSERTs are rewritten into multi-row statements.
+     * Overridden by {@code db.url}, e.g. to point tools at another database.
      */
-    private static final String URL = "jdbc:mysql://localhost:3306/systemgp?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true";
+    private static final String URL = System.getProperty("db.url",
+            "jdbc:mysql://localhost:3306/systemgp?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true"
+                    + "&useServerPrepStmts=true&useCursorFetch=true&rewriteBatchedStatements=true");
 
     /**
-     * Username for the database connection
+     * Username for the database connection (overridden by {@code db.user})
      */
-    private static final String USER = "user";
+    private static final String USER = System.getProperty("db.user", "user");
 
     /**
-     * Password for the database connection
+     * Password for the database connection (overridden by {@code db.password})
      */
-    private static final String PASSWORD = "password";
+    private static final String PASSWORD = System.getProperty("db.password", "password");
+
+    /**
+     * Minimum number of idle connections kept open by the pool
+     */
+    private static final int POOL_MIN_SIZE = Integer.getInteger("db.pool.minSize", 2);
+
+    /**
+     * Maximum number of physical connections the pool may open
+     */
+    private static final int POOL_MAX_SIZE = Integer.getInteger("db.pool.maxSize", 10);
+
+    /**
+     * Idle time after which connections above the minimum size are closed
+     */
+    private static final long POOL_IDLE_TIMEOUT_MILLIS = Long.getLong("db.pool.idleTimeoutMillis", 600_000L);
+
+    /**
+     * Maximum time a caller waits for a free connection
+     */
+    private static final long POOL_MAX_WAIT_MILLIS = Long.getLong("db.pool.maxWaitMillis", 30_000L);
+
+    /**
+     * Time after which a connection that was not returned is reported as a leak (0 disables)
+     */
+    private static final long POOL_LEAK_THRESHOLD_MILLIS = Long.getLong("db.pool.leakThresholdMillis", 60_000L);
+
+    /**
+     * Timeout used when validating an idle connection before handing it out
+     */
+    private static final int POOL_VALIDATION_TIMEOUT_SECONDS = Integer.getInteger("db.pool.validationTimeoutSeconds", 2);
+
+    /**
+     * Number of prepared statements cached per pooled connection
+     */
+    private static final int POOL_STATEMENT_CACHE_SIZE = Integer.getInteger("db.pool.statementCacheSize", 64);
+
+    /**
+     * Shared pool all repositories borrow connections from
+     */
+    private static final ConnectionPool POOL;
 
     /**
      * Static initializer block executed once when the class is loaded.
-     * Loads the MySQL JDBC driver.
+     * Loads the MySQL JDBC driver and creates the connection pool.
      * Throws RuntimeException if the driver class is not found.
      */
     static {
@@ -35,23 +80,47 @@ public class DBConnection {
             Logger.error("Failed to load MySQL JDBC Driver: " + e.getMessage());
             throw new RuntimeException(e);
         }
+
+        POOL = new ConnectionPool(URL, USER, PASSWORD, POOL_MIN_SIZE, POOL_MAX_SIZE,
+                POOL_IDLE_TIMEOUT_MILLIS, POOL_MAX_WAIT_MILLIS,
+                POOL_LEAK_THRESHOLD_MILLIS, POOL_VALIDATION_TIMEOUT_SECONDS, POOL_STATEMENT_CACHE_SIZE);
     }
 
     /**
-     * Obtains a new connection to the database using the configured URL, user, and password.
+     * Borrows a connection from the shared pool.
+     * Closing the returned connection gives it back to the pool instead of closing it.
+     * Inside a {@link TransactionManager} scope the connection bound to the current thread
+     * is returned instead, so the caller joins the transaction.
      *
      * @return Connection object to the MySQL database
      * @throws RuntimeException if a SQL exception occurs while connecting
      */
     public static Connection getConnection() {
+        Connection bound = TransactionManager.boundConnection();
+        if (bound != null) {
+            return bound;
+        }
         try {
-            Logger.info("Attempting to connect to database: " + URL);
-            Connection conn = DriverManager.getConnection(URL, USER, PASSWORD);
-            Logger.info("Database connection established successfully!");
-            return conn;
+            return POOL.getConnection();
         } catch (SQLException e) {
             Logger.error("Failed to connect to database: " + e.getMessage());
             throw new RuntimeException("Error connecting to the database", e);
         }
     }
+
+    /**
+     * Returns the pooled data source used by {@link #getConnection()}.
+     *
+     * @return shared connection pool
+     */
+    public static ConnectionPool getDataSource() {
+        return POOL;
+    }
+
+    /**
+     * Closes all pooled connections. Called when the application stops.
+     */
+    public static void shutdown() {
+        POOL.shutdown();
+    }
 }
@@ -0,0 +1,179 @@
+package util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded read-through cache with LRU eviction and a time-to-live per entry.
+ * <p>
+ * Used by the repositories to avoid reloading the same rows when screens are recreated.
+ * Missing rows (null results) are not cached. Inside a {@link TransactionManager} scope the
+ * cache is bypassed, so uncommitted data never becomes visible to other callers.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class EntityCache<K, V> {
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param name      cache name
+     * @param size      current number of entries
+     * @param hits      lookups served from the cache
+     * @param misses    lookups that went to the loader
+     * @param evictions entries dropped because of size or age
+     */
+    public record CacheStats(String name, int size, long hits, long misses, long evictions) {
+
+        /**
+         * Fraction of lookups served from the cache.
+         *
+         * @return hit rate between 0 and 1
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * A cached value and the time it was loaded.
+     */
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    /**
+     * Name used in stats and logs
+     */
+    private final String name;
+
+    /**
+     * Maximum number of entries and entry lifetime
+     */
+    private final int maxSize;
+    private final long ttlMillis;
+
+    /**
+     * Entries in access order (least recently used first)
+     */
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Counters; guarded by the cache lock
+     */
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Incremented on every invalidation; a load that overlapped an invalidation is not cached
+     */
+    private long generation;
+
+    /**
+     * Creates a cache.
+     *
+     * @param name      cache name for stats
+     * @param maxSize   maximum number of entries (0 disables caching)
+     * @param ttlMillis time after which an entry is reloaded
+     */
+    public EntityCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Returns the cached value for a key, loading and caching it on a miss or when expired.
+     * The loader runs outside the lock, so a slow query does not block other lookups.
+     *
+     * @param key    key
+     * @param loader loads the value from the database; may return null
+     * @return cached or loaded value, or null if the loader found nothing
+     */
+    public V get(K key, Function<K, V> loader) {
+        if (maxSize <= 0 || TransactionManager.isActive()) {
+            return loader.apply(key);
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.currentTimeMillis() - entry.loadedAt() < ttlMillis) {
+                    hits++;
+                    return entry.value();
+                }
+                entries.remove(key);
+                evictions++;
+            }
+            misses++;
+        }
+
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                if (generation != loadGeneration) {
+                    return value;
+                }
+                entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes one entry.
+     *
+     * @param key key to remove
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every entry whose value matches a predicate.
+     *
+     * @param predicate selects the values to remove
+     */
+    public synchronized void invalidateIf(Predicate<V> predicate) {
+        generation++;
+        entries.values().removeIf(entry -> predicate.test(entry.value()));
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return cache stats
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, entries.size(), hits, misses, evictions);
+    }
+
+    /**
+     * Drops least recently used entries above the size limit.
+     */
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+}
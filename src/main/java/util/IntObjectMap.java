@@ -0,0 +1,139 @@
+package util;
+
+import java.util.function.IntFunction;
+
+/**
+ * Small open-addressing hash map with primitive {@code int} keys.
+ * <p>
+ * Used to index rows by id without boxing every key into an {@link Integer}.
+ * Null values are not supported (a null slot marks an empty bucket).
+ *
+ * @param <V> value type
+ */
+public class IntObjectMap<V> {
+
+    /**
+     * Keys and values stored in parallel arrays; capacity is always a power of two
+     */
+    private int[] keys;
+    private Object[] values;
+
+    /**
+     * Number of entries in the map
+     */
+    private int size;
+
+    /**
+     * Creates a map sized for the expected number of entries.
+     *
+     * @param expectedSize expected number of entries
+     */
+    public IntObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Creates an empty map with a small default capacity.
+     */
+    public IntObjectMap() {
+        this(8);
+    }
+
+    /**
+     * Returns the value for a key.
+     *
+     * @param key key to look up
+     * @return value, or null if the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associates a value with a key, replacing any previous value.
+     *
+     * @param key   key
+     * @param value non-null value
+     * @return previous value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value for a key, creating and storing it first if absent.
+     *
+     * @param key     key
+     * @param factory creates the value for a missing key
+     * @return existing or newly created value
+     */
+    public V computeIfAbsent(int key, IntFunction<V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return map size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the capacity and re-inserts all entries.
+     */
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Spreads sequential ids across the table.
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
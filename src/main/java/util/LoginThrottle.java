@@ -0,0 +1,218 @@
+package util;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the CPU spent on password verification.
+ * <p>
+ * Every attempt takes a token from a bucket for its login and one for its source (the machine
+ * or client it comes from). Buckets refill at {@code auth.login.ratePerMinute} (default 5) and
+ * {@code auth.source.ratePerMinute} (default 30) and hold at most {@code auth.login.burst}
+ * (default 5) and {@code auth.source.burst} (default 10) tokens. Admitted attempts then need one
+ * of {@code auth.maxConcurrentVerifications} permits (default half the cores) to run BCrypt.
+ * Buckets and counters are lock-free; idle buckets are dropped once more than
+ * {@code auth.maxBuckets} (default 10000) exist.
+ */
+public final class LoginThrottle {
+
+    /**
+     * Outcome of an attempt to start a verification.
+     */
+    public enum Verdict {
+        ALLOWED, LOGIN_LIMITED, SOURCE_LIMITED, BUSY
+    }
+
+    /**
+     * Snapshot of the throttle counters.
+     *
+     * @param allowed       attempts that got to verify a password
+     * @param loginLimited  attempts rejected by the per-login bucket
+     * @param sourceLimited attempts rejected by the per-source bucket
+     * @param busy          attempts rejected because all verification permits were taken
+     * @param activeBuckets buckets currently tracked
+     */
+    public record ThrottleStats(long allowed, long loginLimited, long sourceLimited, long busy, int activeBuckets) {
+
+        /**
+         * Total number of rejected attempts.
+         *
+         * @return rejected attempts
+         */
+        public long rejected() {
+            return loginLimited + sourceLimited + busy;
+        }
+    }
+
+    /**
+     * Per-login and per-source bucket settings
+     */
+    private static final long LOGIN_INTERVAL_NANOS = intervalNanos(Integer.getInteger("auth.login.ratePerMinute", 5));
+    private static final int LOGIN_BURST = Integer.getInteger("auth.login.burst", 5);
+    private static final long SOURCE_INTERVAL_NANOS = intervalNanos(Integer.getInteger("auth.source.ratePerMinute", 30));
+    private static final int SOURCE_BURST = Integer.getInteger("auth.source.burst", 10);
+
+    /**
+     * Number of tracked buckets above which idle ones are dropped
+     */
+    private static final int MAX_BUCKETS = Integer.getInteger("auth.maxBuckets", 10_000);
+
+    /**
+     * Maximum time an admitted attempt waits for a verification permit
+     */
+    private static final long PERMIT_WAIT_MILLIS = Long.getLong("auth.permitWaitMillis", 2_000L);
+
+    /**
+     * Permits for concurrent BCrypt verifications
+     */
+    private static final Semaphore VERIFICATIONS = new Semaphore(Integer.getInteger("auth.maxConcurrentVerifications",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+
+    /**
+     * Buckets keyed by "login:" or "source:" followed by the lower-cased name
+     */
+    private static final ConcurrentHashMap<String, TokenBucket> BUCKETS = new ConcurrentHashMap<>();
+
+    /**
+     * Counters
+     */
+    private static final LongAdder allowed = new LongAdder();
+    private static final LongAdder loginLimited = new LongAdder();
+    private static final LongAdder sourceLimited = new LongAdder();
+    private static final LongAdder busy = new LongAdder();
+
+    private LoginThrottle() {
+    }
+
+    /**
+     * Takes tokens for an attempt and a verification permit. When the verdict is
+     * {@link Verdict#ALLOWED}, the caller must call {@link #release()} after verifying.
+     * May wait up to {@code auth.permitWaitMillis} for a permit, so it must not run on the
+     * JavaFX thread.
+     *
+     * @param login  login being tried
+     * @param source origin of the attempt
+     * @return whether the attempt may verify a password
+     */
+    public static Verdict acquire(String login, String source) {
+        long now = System.nanoTime();
+        if (!bucket("source:" + source, SOURCE_INTERVAL_NANOS, SOURCE_BURST).tryTake(now)) {
+            sourceLimited.increment();
+            return Verdict.SOURCE_LIMITED;
+        }
+        String key = login != null ? login.trim().toLowerCase(Locale.ROOT) : "";
+        if (!bucket("login:" + key, LOGIN_INTERVAL_NANOS, LOGIN_BURST).tryTake(now)) {
+            loginLimited.increment();
+            return Verdict.LOGIN_LIMITED;
+        }
+
+        try {
+            if (!VERIFICATIONS.tryAcquire(PERMIT_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                busy.increment();
+                return Verdict.BUSY;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            busy.increment();
+            return Verdict.BUSY;
+        }
+        allowed.increment();
+        return Verdict.ALLOWED;
+    }
+
+    /**
+     * Returns the verification permit taken by an allowed {@link #acquire(String, String)}.
+     */
+    public static void release() {
+        VERIFICATIONS.release();
+    }
+
+    /**
+     * Returns the current counters.
+     *
+     * @return throttle statistics
+     */
+    public static ThrottleStats getStats() {
+        return new ThrottleStats(allowed.sum(), loginLimited.sum(), sourceLimited.sum(), busy.sum(), BUCKETS.size());
+    }
+
+    /**
+     * Returns the bucket for a key, dropping idle buckets first if too many are tracked.
+     */
+    private static TokenBucket bucket(String key, long intervalNanos, int burst) {
+        TokenBucket bucket = BUCKETS.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (BUCKETS.size() >= MAX_BUCKETS) {
+            long now = System.nanoTime();
+            BUCKETS.values().removeIf(b -> b.isFull(now));
+        }
+        return BUCKETS.computeIfAbsent(key, k -> new TokenBucket(intervalNanos, burst));
+    }
+
+    /**
+     * Time between two tokens for a rate per minute.
+     */
+    private static long intervalNanos(int perMinute) {
+        return TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+    }
+
+    /**
+     * Token bucket stored as a single "theoretical arrival time" (the GCRA form): the bucket is
+     * full when that time is in the past, and each token taken pushes it one interval further.
+     * Taking a token is one compare-and-set, so no lock is needed.
+     */
+    static final class TokenBucket {
+
+        /**
+         * Time between two tokens and how far ahead the arrival time may run (burst - 1 intervals)
+         */
+        private final long intervalNanos;
+        private final long toleranceNanos;
+
+        /**
+         * Theoretical arrival time of the next attempt
+         */
+        private final AtomicLong arrival;
+
+        TokenBucket(long intervalNanos, int burst) {
+            this.intervalNanos = intervalNanos;
+            this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+            this.arrival = new AtomicLong(System.nanoTime());
+        }
+
+        /**
+         * Takes a token if one is available.
+         *
+         * @param now current {@link System#nanoTime()}
+         * @return true if a token was taken
+         */
+        boolean tryTake(long now) {
+            while (true) {
+                long current = arrival.get();
+                long base = current - now > 0 ? current : now;
+                if (base - now > toleranceNanos) {
+                    return false;
+                }
+                if (arrival.compareAndSet(current, base + intervalNanos)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Returns whether the bucket has refilled completely, so dropping it loses nothing.
+         *
+         * @param now current {@link System#nanoTime()}
+         * @return true if full
+         */
+        boolean isFull(long now) {
+            return arrival.get() - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package util;
+
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Order of names as sorted by the database.
+ * <p>
+ * The name columns use the {@code utf8mb4_0900_ai_ci} collation (see {@code sql/db/dump.sql}),
+ * which compares Unicode base letters only: case and accents are ignored, so "Ábaco" sorts with
+ * "abaco", near "Abel", and the two are equal. A collator at primary strength orders the same
+ * way, so rows merged and sorted in memory stay in the order of the keyset pages, and equal
+ * names fall through to the ID tie-breaker like in {@code ORDER BY name, id}.
+ */
+public final class NameOrder {
+
+    /**
+     * Compares names by base letters only; thread-safe
+     */
+    public static final Comparator<String> COMPARATOR = newComparator();
+
+    private NameOrder() {
+    }
+
+    /**
+     * Creates the comparator. Canonical decomposition makes precomposed and combining accents
+     * compare alike.
+     */
+    private static Comparator<String> newComparator() {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        return collator::compare;
+    }
+}
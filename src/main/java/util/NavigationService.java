@@ -1,17 +1,16 @@
 package util;
 
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 
 import java.io.IOException;
 
 /**
  * Utility class for navigating between JavaFX screens.
  * Supports opening FXML files in new stages or reusing existing ones,
- * with options for modality and resizability.
+ * with options for modality and resizability. Screens come from the {@link ScreenCache}.
  */
 public class NavigationService {
 
@@ -28,10 +27,14 @@ public class NavigationService {
     public void open(String fxmlPath, String title, Stage currentStage,
                      boolean reuseStage, boolean resizable, boolean modal) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Parent root = loader.load();
-
-            Scene scene = new Scene(root);
+            ScreenCache.Screen<Object> screen = ScreenCache.show(fxmlPath);
+            Window owner = screen.getScene().getWindow();
+            if (owner != null && owner.isShowing() && owner != currentStage) {
+                // Still shown in another window; a scene can only belong to one
+                ScreenCache.invalidate(fxmlPath);
+                screen = ScreenCache.show(fxmlPath);
+            }
+            Scene scene = screen.getScene();
 
             Stage stage;
             if (reuseStage && currentStage != null) {
@@ -52,11 +55,11 @@ public class NavigationService {
             stage.show();
 
             if (!reuseStage && currentStage != null) {
+                // The old screen is not coming back with this window; free it
+                ScreenCache.evict(currentStage.getScene());
                 currentStage.close();
             }
 
-            loader.getController();
-
         } catch (IOException e) {
             Logger.error("Failed to open FXML: " + e.getMessage());
         }
@@ -0,0 +1,150 @@
+package util;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.Arrays;
+
+/**
+ * BCrypt hashing with a work factor calibrated to the current hardware.
+ * <p>
+ * {@link #calibrate()} times a hash at the minimum cost and picks the highest cost whose
+ * estimated verification time stays within {@code auth.bcrypt.targetMillis} (default 250 ms),
+ * clamped to {@code [10, 16]}; each cost step doubles the time. Until calibration has run, or if
+ * {@code auth.bcrypt.cost} is set, that cost is used (default 12). Stored hashes with a lower
+ * cost than the target are rehashed on the next successful login; stronger ones are kept, so a
+ * slower calibration run never downgrades them.
+ */
+public final class PasswordHasher {
+
+    /**
+     * Lowest and highest cost calibration may choose
+     */
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+
+    /**
+     * Timed hashes per calibration; the median is used
+     */
+    private static final int SAMPLES = 5;
+
+    /**
+     * Verification time the calibrated cost aims for
+     */
+    private static final long TARGET_MILLIS = Long.getLong("auth.bcrypt.targetMillis", 250L);
+
+    /**
+     * Fixed cost, or 0 to calibrate
+     */
+    private static final int FIXED_COST = Integer.getInteger("auth.bcrypt.cost", 0);
+
+    /**
+     * Cost used for new hashes
+     */
+    private static volatile int targetCost = FIXED_COST > 0 ? FIXED_COST : 12;
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * Measures the hashing speed and sets the target cost. Does nothing when a fixed cost is
+     * configured. Takes a few hundred milliseconds, so it runs in the background at startup,
+     * after the other warm-up phases so they do not skew the timing.
+     *
+     * @return chosen cost
+     */
+    public static int calibrate() {
+        if (FIXED_COST > 0) {
+            return FIXED_COST;
+        }
+        String salt = BCrypt.gensalt(MIN_COST);
+        BCrypt.hashpw("calibration", salt); // Warm up the JIT before timing
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+
+        int cost = MIN_COST;
+        double millis = samples[SAMPLES / 2] / 1_000_000.0;
+        while (cost < MAX_COST && millis * 2 <= TARGET_MILLIS) {
+            millis *= 2;
+            cost++;
+        }
+        targetCost = cost;
+        Logger.info(String.format("BCrypt cost %d selected (~%.0fms per hash, target %dms)",
+                cost, millis, TARGET_MILLIS));
+        return cost;
+    }
+
+    /**
+     * Returns the cost used for new hashes.
+     *
+     * @return BCrypt cost
+     */
+    public static int getTargetCost() {
+        return targetCost;
+    }
+
+    /**
+     * Hashes a password with the target cost.
+     *
+     * @param plainPassword plain text password
+     * @return BCrypt hash
+     */
+    public static String hash(String plainPassword) {
+        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(targetCost));
+    }
+
+    /**
+     * Checks a password against a stored hash. A malformed hash never matches.
+     *
+     * @param plainPassword plain text password
+     * @param hash          stored BCrypt hash
+     * @return true if the password matches
+     */
+    public static boolean verify(String plainPassword, String hash) {
+        if (plainPassword == null || hash == null) {
+            return false;
+        }
+        try {
+            return BCrypt.checkpw(plainPassword, hash);
+        } catch (IllegalArgumentException e) {
+            Logger.warn("Malformed password hash: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether a stored hash should be replaced by one with the target cost.
+     *
+     * @param hash stored BCrypt hash
+     * @return true if its cost is below the target or cannot be read
+     */
+    public static boolean needsRehash(String hash) {
+        return costOf(hash) < targetCost;
+    }
+
+    /**
+     * Reads the cost from a hash of the form {@code $2a$12$...}.
+     *
+     * @param hash BCrypt hash
+     * @return cost, or -1 if the hash is malformed
+     */
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$') {
+            return -1;
+        }
+        int start = hash.indexOf('$', 1) + 1;
+        int end = hash.indexOf('$', start);
+        if (start <= 0 || end < 0) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(start, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Prepared statement wrapper that reports each execution, with its SQL and bound parameters,
+ * to a {@link ConnectionPool.StatementListener}. Only installed while a listener is set, so
+ * normal runs do not pay for it.
+ */
+class RecordingStatement implements InvocationHandler {
+
+    /**
+     * Wrapped statement and its SQL text
+     */
+    private final PreparedStatement statement;
+    private final String sql;
+
+    /**
+     * Receives the executions
+     */
+    private final ConnectionPool.StatementListener listener;
+
+    /**
+     * Bound parameter values; index 0 holds parameter 1
+     */
+    private final List<Object> parameters = new ArrayList<>();
+
+    private RecordingStatement(PreparedStatement statement, String sql, ConnectionPool.StatementListener listener) {
+        this.statement = statement;
+        this.sql = sql;
+        this.listener = listener;
+    }
+
+    /**
+     * Wraps a statement so its executions are reported.
+     *
+     * @param statement statement to wrap
+     * @param sql       SQL text it was prepared with
+     * @param listener  receives the executions
+     * @return recording proxy
+     */
+    static PreparedStatement wrap(PreparedStatement statement, String sql, ConnectionPool.StatementListener listener) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new RecordingStatement(statement, sql, listener));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+            bind(index, name.equals("setNull") ? null : args[1]);
+        } else if (name.equals("clearParameters")) {
+            parameters.clear();
+        } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+            listener.executed(sql, Collections.unmodifiableList(new ArrayList<>(parameters)));
+        }
+
+        try {
+            return method.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Records the value bound to a parameter.
+     */
+    private void bind(int index, Object value) {
+        while (parameters.size() < index) {
+            parameters.add(null);
+        }
+        parameters.set(index - 1, value);
+    }
+}
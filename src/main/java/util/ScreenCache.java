@@ -0,0 +1,273 @@
+package util;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache of loaded FXML screens, so navigating back to a screen reuses its node tree and
+ * controller instead of parsing the FXML, resolving CSS and creating the controller again.
+ * <p>
+ * Screens are kept per FXML path, least recently shown first, and bounded by
+ * {@code screens.cacheSize} (default 8); evicted screens are simply loaded again next time.
+ * When a cached screen is shown again, a controller implementing {@link Reshowable} is asked
+ * to refresh its data. Load and show times are recorded per screen and reported by
+ * {@link #getStats()}. Must only be used on the JavaFX Application Thread.
+ */
+public final class ScreenCache {
+
+    /**
+     * Implemented by controllers whose data must be refreshed when their cached screen is
+     * shown again.
+     */
+    public interface Reshowable {
+
+        /**
+         * Called on the JavaFX thread each time the cached screen is shown again.
+         */
+        void onReshow();
+    }
+
+    /**
+     * Load and show times of one screen.
+     *
+     * @param fxmlPath       FXML path of the screen
+     * @param loads          number of FXML loads (first show and reloads after eviction)
+     * @param shows          number of times the screen was taken from the cache
+     * @param lastLoadMillis duration of the last FXML load
+     * @param avgShowMillis  average duration of a cached show, including the data refresh call
+     */
+    public record ScreenStats(String fxmlPath, int loads, int shows, double lastLoadMillis, double avgShowMillis) {
+    }
+
+    /**
+     * Maximum number of cached screens
+     */
+    private static final int MAX_SCREENS = Integer.getInteger("screens.cacheSize", 8);
+
+    /**
+     * Cached screens in access order (least recently shown first)
+     */
+    private static final LinkedHashMap<String, Screen<?>> SCREENS = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Timings per FXML path; kept when a screen is evicted
+     */
+    private static final Map<String, long[]> TIMINGS = new LinkedHashMap<>();
+
+    /**
+     * Indexes into a timings array: loads, shows, last load nanos, total show nanos
+     */
+    private static final int LOADS = 0, SHOWS = 1, LAST_LOAD = 2, TOTAL_SHOW = 3;
+
+    private ScreenCache() {
+    }
+
+    /**
+     * A loaded screen: its root node, its controller and, once needed, the scene and the
+     * window showing it.
+     *
+     * @param <C> controller type
+     */
+    public static final class Screen<C> {
+
+        /**
+         * FXML path the screen was loaded from
+         */
+        private final String fxmlPath;
+
+        /**
+         * Root node and controller created by the loader
+         */
+        private final Parent root;
+        private final C controller;
+
+        /**
+         * Scene wrapping the root and window owning it, created on first use
+         */
+        private Scene scene;
+        private Stage stage;
+
+        private Screen(String fxmlPath, Parent root, C controller) {
+            this.fxmlPath = fxmlPath;
+            this.root = root;
+            this.controller = controller;
+        }
+
+        /**
+         * Returns the root node of the screen.
+         *
+         * @return root node
+         */
+        public Parent getRoot() {
+            return root;
+        }
+
+        /**
+         * Returns the controller of the screen.
+         *
+         * @return controller
+         */
+        public C getController() {
+            return controller;
+        }
+
+        /**
+         * Returns the scene wrapping the root node, creating it on first use.
+         * A root node belongs to at most one scene, so the scene is reused as well.
+         *
+         * @return scene of the screen
+         */
+        public Scene getScene() {
+            if (scene == null) {
+                scene = new Scene(root);
+            }
+            return scene;
+        }
+
+        /**
+         * Returns the window showing this screen, creating it on first use.
+         * Used for modal screens that are hidden and shown again instead of being recreated.
+         *
+         * @param factory creates and configures the window (the scene is set afterwards)
+         * @return window of the screen
+         */
+        public Stage getStage(Supplier<Stage> factory) {
+            if (stage == null) {
+                stage = factory.get();
+                stage.setScene(getScene());
+            }
+            return stage;
+        }
+
+        /**
+         * Detaches the screen from its window when it is evicted.
+         */
+        private void release() {
+            if (stage != null && !stage.isShowing()) {
+                stage.setScene(null);
+            }
+            stage = null;
+        }
+    }
+
+    /**
+     * Returns the screen for an FXML path, loading it on first use. A screen taken from the
+     * cache has its controller refreshed if it implements {@link Reshowable}.
+     *
+     * @param fxmlPath classpath location of the FXML file
+     * @param <C>      controller type
+     * @return loaded screen
+     * @throws IOException if the FXML cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> Screen<C> show(String fxmlPath) throws IOException {
+        long start = System.nanoTime();
+        Screen<C> screen = (Screen<C>) SCREENS.get(fxmlPath);
+        if (screen == null) {
+            screen = load(fxmlPath);
+            record(fxmlPath, LOADS, LAST_LOAD, System.nanoTime() - start);
+            return screen;
+        }
+
+        if (screen.controller instanceof Reshowable reshowable) {
+            reshowable.onReshow();
+        }
+        record(fxmlPath, SHOWS, TOTAL_SHOW, System.nanoTime() - start);
+        return screen;
+    }
+
+    /**
+     * Drops the cached screen of an FXML path, so the next show loads it again.
+     *
+     * @param fxmlPath classpath location of the FXML file
+     */
+    public static void invalidate(String fxmlPath) {
+        Screen<?> screen = SCREENS.remove(fxmlPath);
+        if (screen != null) {
+            screen.release();
+        }
+    }
+
+    /**
+     * Drops the cached screen shown in a scene, e.g. when its window is closed for good.
+     *
+     * @param scene scene of the screen (ignored if null or not cached)
+     */
+    public static void evict(Scene scene) {
+        if (scene == null) {
+            return;
+        }
+        SCREENS.values().removeIf(screen -> {
+            if (screen.scene != scene) {
+                return false;
+            }
+            screen.release();
+            return true;
+        });
+    }
+
+    /**
+     * Drops all cached screens.
+     */
+    public static void clear() {
+        SCREENS.values().forEach(Screen::release);
+        SCREENS.clear();
+    }
+
+    /**
+     * Returns the load and show times of every screen loaded so far.
+     *
+     * @return timings per screen, in first-load order
+     */
+    public static List<ScreenStats> getStats() {
+        List<ScreenStats> stats = new ArrayList<>();
+        TIMINGS.forEach((path, t) -> stats.add(new ScreenStats(path, (int) t[LOADS], (int) t[SHOWS],
+                t[LAST_LOAD] / 1_000_000.0, t[SHOWS] == 0 ? 0 : t[TOTAL_SHOW] / 1_000_000.0 / t[SHOWS])));
+        return stats;
+    }
+
+    /**
+     * Loads a screen and adds it to the cache, evicting the least recently shown ones.
+     */
+    private static <C> Screen<C> load(String fxmlPath) throws IOException {
+        URL location = Objects.requireNonNull(ScreenCache.class.getResource(fxmlPath), fxmlPath);
+        FXMLLoader loader = new FXMLLoader(location);
+        Parent root = loader.load();
+        Screen<C> screen = new Screen<>(fxmlPath, root, loader.getController());
+
+        SCREENS.put(fxmlPath, screen);
+        Iterator<Screen<?>> eldest = SCREENS.values().iterator();
+        while (SCREENS.size() > MAX_SCREENS && eldest.hasNext()) {
+            Screen<?> evicted = eldest.next();
+            eldest.remove();
+            evicted.release();
+            Logger.info("Screen cache evicted " + evicted.fxmlPath);
+        }
+        return screen;
+    }
+
+    /**
+     * Adds a timing to the counters of a screen.
+     */
+    private static void record(String fxmlPath, int countIndex, int nanosIndex, long nanos) {
+        long[] timings = TIMINGS.computeIfAbsent(fxmlPath, path -> new long[4]);
+        timings[countIndex]++;
+        if (nanosIndex == LAST_LOAD) {
+            timings[LAST_LOAD] = nanos;
+        } else {
+            timings[nanosIndex] += nanos;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package util;
+
+import javafx.css.CssParser;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms up the application while the login screen is shown, and reports how long each
+ * startup phase took.
+ * <p>
+ * Without warm-up, the JDBC driver, the first database connections, the dashboard FXML classes
+ * and the CSS parser are all loaded on the JavaFX thread right after login. {@link #warmUp()}
+ * runs these phases concurrently on background threads instead:
+ * <ul>
+ *     <li><b>driver</b>: initializes {@link DBConnection} (driver and pool), then
+ *     <b>pool</b> opens {@code db.pool.minSize} connections in parallel</li>
+ *     <li><b>fxml</b>: reads the screen layouts and loads the classes they import; the node
+ *     trees themselves are built on the JavaFX thread by the {@link ScreenCache}</li>
+ *     <li><b>css</b>: parses the application stylesheets</li>
+ * </ul>
+ * Once all three have finished, <b>bcrypt</b> calibrates the password hashing cost
+ * ({@link PasswordHasher#calibrate()}), alone so the timing is not skewed by the other phases.
+ * Milestones such as "login shown" are recorded with {@link #mark(String)}; the report is
+ * logged once the dashboard is shown. Times are measured from JVM start.
+ */
+public final class StartupOrchestrator {
+
+    /**
+     * Timing of one phase or milestone.
+     *
+     * @param name        phase name
+     * @param startMillis start time since JVM start
+     * @param millis      duration (0 for milestones)
+     * @param thread      thread that ran the phase
+     * @param ok          false if the phase failed
+     */
+    public record Phase(String name, long startMillis, long millis, String thread, boolean ok) {
+    }
+
+    /**
+     * Layouts read by the fxml phase, in the order they are usually opened
+     */
+    private static final List<String> LAYOUTS = List.of(
+            "/view/layouts/DashboardView.fxml",
+            "/view/layouts/HomeView.fxml",
+            "/view/layouts/user/UserHeader.fxml",
+            "/view/layouts/project/ProjectView.fxml",
+            "/view/layouts/team/TeamView.fxml",
+            "/view/layouts/user/UserView.fxml",
+            "/view/layouts/project/ProjectDetailsView.fxml",
+            "/view/layouts/team/TeamDetailsView.fxml",
+            "/view/layouts/user/UserDetailsView.fxml"
+    );
+
+    /**
+     * Stylesheets parsed by the css phase
+     */
+    private static final List<String> STYLESHEETS = List.of("/css/primer-light.css", "/css/main.css");
+
+    /**
+     * JVM start time, the origin of all reported times
+     */
+    private static final long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    /**
+     * Recorded phases and milestones, in completion order
+     */
+    private static final List<Phase> PHASES = new CopyOnWriteArrayList<>();
+
+    /**
+     * Whether warm-up was started and whether the report was logged
+     */
+    private static final AtomicBoolean started = new AtomicBoolean();
+    private static final AtomicBoolean reported = new AtomicBoolean();
+
+    private StartupOrchestrator() {
+    }
+
+    /**
+     * Starts the warm-up phases in the background. Later calls do nothing.
+     *
+     * @return future completed when every phase has finished (failed phases are only logged)
+     */
+    public static CompletableFuture<Void> warmUp() {
+        if (!started.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(3, runnable -> {
+            Thread thread = new Thread(runnable, "startup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1); // Leave the FX thread ahead
+            return thread;
+        });
+
+        CompletableFuture<Void> database = CompletableFuture
+                .runAsync(() -> phase("driver", DBConnection::getDataSource), executor)
+                .thenRunAsync(() -> phase("pool", () -> primePool(executor)), executor);
+        CompletableFuture<Void> fxml = CompletableFuture.runAsync(
+                () -> phase("fxml", StartupOrchestrator::preloadLayouts), executor);
+        CompletableFuture<Void> css = CompletableFuture.runAsync(
+                () -> phase("css", StartupOrchestrator::parseStylesheets), executor);
+
+        return CompletableFuture.allOf(database, fxml, css)
+                .thenRunAsync(() -> phase("bcrypt", PasswordHasher::calibrate), executor)
+                .whenComplete((ignored, error) -> executor.shutdown());
+    }
+
+    /**
+     * Records a milestone, such as a screen becoming visible.
+     *
+     * @param milestone milestone name
+     */
+    public static void mark(String milestone) {
+        PHASES.add(new Phase(milestone, sinceJvmStart(), 0, Thread.currentThread().getName(), true));
+    }
+
+    /**
+     * Records a final milestone and logs the startup report. Only the first call logs.
+     *
+     * @param milestone milestone name
+     */
+    public static void finish(String milestone) {
+        mark(milestone);
+        if (reported.compareAndSet(false, true)) {
+            Logger.info("Startup report (ms since JVM start):");
+            for (Phase phase : getReport()) {
+                Logger.info(String.format("  %-18s at %6d  %6d ms  %s%s", phase.name(), phase.startMillis(),
+                        phase.millis(), phase.thread(), phase.ok() ? "" : "  FAILED"));
+            }
+        }
+    }
+
+    /**
+     * Returns the phases and milestones recorded so far, ordered by start time.
+     *
+     * @return startup report
+     */
+    public static List<Phase> getReport() {
+        List<Phase> report = new ArrayList<>(PHASES);
+        report.sort((a, b) -> Long.compare(a.startMillis(), b.startMillis()));
+        return report;
+    }
+
+    /**
+     * Runs and times one phase, logging instead of throwing on failure.
+     */
+    private static void phase(String name, Runnable work) {
+        long start = sinceJvmStart();
+        boolean ok = true;
+        try {
+            work.run();
+        } catch (RuntimeException | Error e) {
+            ok = false;
+            Logger.warn("Startup phase " + name + " failed: " + e.getMessage());
+        }
+        PHASES.add(new Phase(name, start, sinceJvmStart() - start, Thread.currentThread().getName(), ok));
+    }
+
+    /**
+     * Opens the pool's minimum number of connections in parallel and returns them, so the
+     * first queries after login do not pay for the TCP and authentication handshakes
+     * (the pool housekeeper would open them too, but one at a time). Every opened connection
+     * is returned even if others fail, since the pool never reclaims a borrowed one.
+     */
+    private static void primePool(Executor executor) {
+        int connections = Integer.getInteger("db.pool.minSize", 2);
+        List<CompletableFuture<Connection>> opening = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            opening.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return DBConnection.getDataSource().getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }, executor));
+        }
+        int failed = 0;
+        for (CompletableFuture<Connection> future : opening) {
+            Connection connection;
+            try {
+                connection = future.join();
+            } catch (CompletionException e) {
+                failed++;
+                Logger.warn("Failed to open primed connection: " + e.getCause().getMessage());
+                continue;
+            }
+            try {
+                connection.close(); // Returned to the pool
+            } catch (SQLException e) {
+                Logger.warn("Failed to return primed connection: " + e.getMessage());
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " of " + connections + " connections could not be opened");
+        }
+    }
+
+    /**
+     * Reads each layout and loads (without initializing) the classes it imports, so building
+     * the screens later on the JavaFX thread finds them already loaded.
+     */
+    private static void preloadLayouts() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        Map<String, Boolean> loaded = new ConcurrentHashMap<>();
+        for (String layout : LAYOUTS) {
+            URL url = StartupOrchestrator.class.getResource(layout);
+            if (url == null) {
+                continue;
+            }
+            try (InputStream in = url.openStream()) {
+                XMLStreamReader reader = factory.createXMLStreamReader(in);
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.PROCESSING_INSTRUCTION && "import".equals(reader.getPITarget())) {
+                        loaded.computeIfAbsent(reader.getPIData().trim(), StartupOrchestrator::loadClass);
+                    } else if (event == XMLStreamConstants.START_ELEMENT) {
+                        String controller = reader.getAttributeValue("http://javafx.com/fxml", "controller");
+                        if (controller != null) {
+                            loaded.computeIfAbsent(controller, StartupOrchestrator::loadClass);
+                        }
+                    }
+                }
+                reader.close();
+            } catch (IOException | XMLStreamException e) {
+                Logger.warn("Failed to pre-read " + layout + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Loads a class without running its static initializer; wildcard imports are skipped.
+     */
+    private static Boolean loadClass(String name) {
+        if (name.endsWith("*")) {
+            return false;
+        }
+        try {
+            Class.forName(name, false, StartupOrchestrator.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses the application stylesheets, loading and warming up the CSS parser.
+     */
+    private static void parseStylesheets() {
+        CssParser parser = new CssParser();
+        for (String stylesheet : STYLESHEETS) {
+            URL url = StartupOrchestrator.class.getResource(stylesheet);
+            if (url == null) {
+                continue;
+            }
+            try {
+                parser.parse(url);
+            } catch (IOException e) {
+                Logger.warn("Failed to parse " + stylesheet + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Milliseconds since the JVM started.
+     */
+    private static long sinceJvmStart() {
+        return System.currentTimeMillis() - JVM_START;
+    }
+}
@@ -0,0 +1,242 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of prepared statements for a single pooled connection, keyed by SQL text.
+ * <p>
+ * Cached statements are handed out wrapped in a proxy whose {@code close()} only clears
+ * the parameters, so repositories keep closing their statements as usual while the
+ * (server-side) prepared statement stays alive for the next call with the same SQL.
+ * A connection is only used by one thread at a time, so no locking is needed.
+ */
+class StatementCache {
+
+    /**
+     * Physical connection the statements are prepared on
+     */
+    private final Connection physical;
+
+    /**
+     * Current borrower's handle of the connection, returned by {@link PreparedStatement#getConnection()}
+     */
+    private final Supplier<Connection> owner;
+
+    /**
+     * Maximum number of statements kept per connection
+     */
+    private final int maxSize;
+
+    /**
+     * Pool-wide hit/miss counters
+     */
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    /**
+     * Cached statements in access order (least recently used first)
+     */
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Creates an empty cache for a connection.
+     *
+     * @param physical physical connection
+     * @param owner    supplies the handle of the current borrower
+     * @param maxSize  maximum number of cached statements (0 disables caching)
+     * @param hits     counter incremented on cache hits
+     * @param misses   counter incremented on cache misses
+     */
+    StatementCache(Connection physical, Supplier<Connection> owner, int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.owner = owner;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Returns a cached statement for the SQL text, preparing and caching it on a miss.
+     * If the cached statement is still open by the caller (e.g. the same query nested
+     * inside its own result loop), an uncached statement is prepared instead.
+     *
+     * @param sql               SQL text
+     * @param autoGeneratedKeys {@link java.sql.Statement#RETURN_GENERATED_KEYS} or {@link java.sql.Statement#NO_GENERATED_KEYS}
+     * @return prepared statement; closing it returns it to the cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        if (maxSize <= 0) {
+            return physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        String key = autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            hits.incrementAndGet();
+            cached.inUse = true;
+            return cached.proxy;
+        }
+
+        misses.incrementAndGet();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            // Same SQL already open by the caller: hand out a plain statement
+            return statement;
+        }
+
+        cached = new CachedStatement(statement);
+        cached.inUse = true;
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.proxy;
+    }
+
+    /**
+     * Removes least recently used statements above the size limit.
+     * Statements still open by a caller are closed when the caller releases them.
+     */
+    private void evictOverflow() {
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            CachedStatement eldest = it.next();
+            it.remove();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                eldest.closePhysical();
+            }
+        }
+    }
+
+    /**
+     * Returns statements the borrower forgot to close to the cache.
+     * Called when the connection goes back to the pool.
+     */
+    void reset() {
+        for (CachedStatement cached : statements.values()) {
+            if (cached.inUse) {
+                cached.proxyClose();
+            }
+        }
+    }
+
+    /**
+     * Closes all cached statements. Called before the physical connection is closed.
+     */
+    void clear() {
+        for (CachedStatement cached : statements.values()) {
+            cached.closePhysical();
+        }
+        statements.clear();
+    }
+
+    /**
+     * Number of statements currently cached.
+     *
+     * @return cache size
+     */
+    int size() {
+        return statements.size();
+    }
+
+    /**
+     * A physical prepared statement plus the proxy handed to callers.
+     */
+    private final class CachedStatement implements InvocationHandler {
+
+        /**
+         * The real prepared statement
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * Proxy handed to callers; its close() returns the statement to the cache
+         */
+        private final PreparedStatement proxy;
+
+        /**
+         * Whether a caller currently holds the statement
+         */
+        private boolean inUse;
+
+        /**
+         * Whether the statement was dropped from the cache while in use
+         */
+        private boolean evicted;
+
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        /**
+         * Closes the underlying statement, ignoring errors.
+         */
+        private void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                Logger.warn("Failed to close cached statement: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Gives the statement back to the cache, or closes it if it was evicted meanwhile.
+         */
+        private void proxyClose() {
+            if (!inUse) return;
+            inUse = false;
+            if (evicted) {
+                closePhysical();
+                return;
+            }
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                Logger.warn("Failed to reset cached statement: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    proxyClose();
+                    return null;
+                case "isClosed":
+                    return !inUse || statement.isClosed();
+                case "getConnection":
+                    return owner.get();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + statement;
+                default:
+                    break;
+            }
+
+            if (!inUse) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit-of-work API that binds one pooled connection to the current thread for the
+ * duration of a transaction.
+ * <p>
+ * While a scope is active, {@link DBConnection#getConnection()} returns the bound connection,
+ * so repository methods called inside the scope join the transaction without any change:
+ * their {@code close()}, {@code setAutoCommit()} and {@code commit()} calls become no-ops and
+ * the outermost scope commits. A {@code rollback()} or a failing statement inside the scope
+ * marks the whole transaction rollback-only, even when the repository swallows the exception.
+ * Nested scopes join the outer one.
+ *
+ * <pre>{@code
+ * TransactionManager.inTransaction(conn -> {
+ *     projectRepository.addProject(project);
+ *     teamRepository.addTeam(team);
+ *     return null;
+ * });
+ * }</pre>
+ */
+public class TransactionManager {
+
+    /**
+     * Work run inside a transaction scope.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    public interface TransactionWork<T> {
+
+        /**
+         * Runs the work.
+         *
+         * @param conn bound connection (closing it is a no-op)
+         * @return work result
+         * @throws SQLException if a database error occurs
+         */
+        T run(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Scope bound to the current thread, or null outside a transaction
+     */
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private TransactionManager() {
+    }
+
+    /**
+     * Runs work in a read-write transaction, joining the current one if a scope is active.
+     * The transaction commits when the outermost work returns and rolls back if it throws
+     * or if any statement inside it failed.
+     *
+     * @param work work to run
+     * @param <T>  result type
+     * @return work result
+     * @throws SQLException if the work fails or the transaction cannot be committed
+     */
+    public static <T> T inTransaction(TransactionWork<T> work) throws SQLException {
+        return run(work, false);
+    }
+
+    /**
+     * Runs work in a read-only transaction on a consistent snapshot, so several queries
+     * see the database as of the same moment. Joins the current scope if one is active.
+     *
+     * @param work work to run
+     * @param <T>  result type
+     * @return work result
+     * @throws SQLException if the work fails
+     */
+    public static <T> T inReadOnlySnapshot(TransactionWork<T> work) throws SQLException {
+        return run(work, true);
+    }
+
+    /**
+     * Returns whether the current thread is inside a transaction scope.
+     *
+     * @return true inside a scope
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or immediately outside a scope.
+     * Actions of a transaction that rolls back are discarded.
+     *
+     * @param action action to run after commit
+     */
+    public static void afterCommit(Runnable action) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.afterCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Returns the connection bound to the current thread.
+     *
+     * @return bound connection handle, or null outside a scope
+     */
+    static Connection boundConnection() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.handle : null;
+    }
+
+    /**
+     * Runs work in a new or joined scope.
+     */
+    private static <T> T run(TransactionWork<T> work, boolean readOnly) throws SQLException {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            if (scope.readOnly && !readOnly) {
+                throw new SQLException("Cannot join a read-only transaction with a read-write one");
+            }
+            try {
+                return work.run(scope.handle);
+            } catch (SQLException | RuntimeException e) {
+                scope.rollbackOnly = true;
+                throw e;
+            }
+        }
+
+        scope = begin(readOnly);
+        CURRENT.set(scope);
+        T result;
+        try {
+            result = work.run(scope.handle);
+            if (scope.rollbackOnly) {
+                throw new SQLException("Transaction rolled back because a statement inside it failed");
+            }
+            scope.connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            rollbackQuietly(scope.connection);
+            throw e;
+        } finally {
+            CURRENT.remove();
+            end(scope);
+        }
+
+        for (Runnable action : scope.afterCommit) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                Logger.error("After-commit action failed: " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Borrows a connection and starts a transaction on it.
+     */
+    private static Scope begin(boolean readOnly) throws SQLException {
+        Connection conn = DBConnection.getDataSource().getConnection();
+        try {
+            conn.setAutoCommit(false);
+            int isolation = conn.getTransactionIsolation();
+            if (readOnly) {
+                conn.setReadOnly(true);
+                conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT, READ ONLY");
+                }
+            }
+            return new Scope(conn, readOnly, isolation);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Restores the connection settings and gives it back to the pool.
+     */
+    private static void end(Scope scope) {
+        try {
+            if (scope.connection.getTransactionIsolation() != scope.originalIsolation) {
+                scope.connection.setTransactionIsolation(scope.originalIsolation);
+            }
+        } catch (SQLException e) {
+            Logger.warn("Failed to restore transaction isolation: " + e.getMessage());
+        }
+        try {
+            scope.connection.close();
+        } catch (SQLException e) {
+            Logger.warn("Failed to release transaction connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rolls back, logging instead of throwing so the original error is kept.
+     */
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            Logger.warn("Rollback failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * State of an active transaction and the connection handle given to participants.
+     */
+    private static final class Scope implements InvocationHandler {
+
+        /**
+         * Pooled connection owning the transaction
+         */
+        private final Connection connection;
+
+        /**
+         * Handle given to participants; it cannot end the transaction
+         */
+        private final Connection handle;
+
+        /**
+         * Whether this is a read-only snapshot transaction
+         */
+        private final boolean readOnly;
+
+        /**
+         * Isolation level to restore when the scope ends
+         */
+        private final int originalIsolation;
+
+        /**
+         * Set when a participant rolled back or a statement failed
+         */
+        private boolean rollbackOnly;
+
+        /**
+         * Actions to run once the transaction has committed
+         */
+        private final List<Runnable> afterCommit = new ArrayList<>();
+
+        private Scope(Connection connection, boolean readOnly, int originalIsolation) {
+            this.connection = connection;
+            this.readOnly = readOnly;
+            this.originalIsolation = originalIsolation;
+            this.handle = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                case "commit":
+                case "setAutoCommit":
+                case "setReadOnly":
+                case "setTransactionIsolation":
+                    // The outermost scope owns these
+                    return null;
+                case "rollback":
+                    if (args == null) {
+                        rollbackOnly = true;
+                        return null;
+                    }
+                    break;
+                case "getAutoCommit":
+                case "isClosed":
+                    return false;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement statement) {
+                return watch(statement, method.getReturnType());
+            }
+            return result;
+        }
+
+        /**
+         * Wraps a statement so a failing execute marks the transaction rollback-only.
+         */
+        private Object watch(Statement statement, Class<?> type) {
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type}, (p, m, a) -> {
+                switch (m.getName()) {
+                    case "getConnection":
+                        return handle;
+                    case "equals":
+                        return p == a[0];
+                    case "hashCode":
+                        return System.identityHashCode(p);
+                    default:
+                        break;
+                }
+                try {
+                    return m.invoke(statement, a);
+                } catch (InvocationTargetException e) {
+                    if (e.getCause() instanceof SQLException && m.getName().startsWith("execute")) {
+                        rollbackOnly = true;
+                    }
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
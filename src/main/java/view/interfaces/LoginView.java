@@ -33,6 +33,14 @@ public interface LoginView {
      */
     void showSuccess(String message);
 
+    /**
+     * Shows or hides the progress indicator while credentials are being verified,
+     * disabling the form in the meantime.
+     *
+     * @param busy true while verification is running
+     */
+    void setBusy(boolean busy);
+
     /**
      * Opens the main user view after a successful login.
      */
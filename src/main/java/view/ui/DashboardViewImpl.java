@@ -1,29 +1,53 @@
 package view.ui;
 
+import factory.project.ProjectDetailsScreenFactory;
+import factory.team.TeamDetailsScreenFactory;
+import factory.user.UserDetailsScreenFactory;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+import presenter.SearchPresenter;
+import presenter.project.ProjectPresenter;
+import presenter.team.TeamPresenter;
+import presenter.user.UserPresenter;
+import repository.ProjectRepository;
+import repository.TeamRepository;
+import repository.UserRepository;
+import service.SearchIndex.Hit;
+import util.Async;
 import util.Logger;
+import util.ScreenCache;
 import view.interfaces.MenuSelectionHandler;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.stream.Collectors;
 
 /**
  * JavaFX view for the main dashboard.
  * Handles menu navigation and loads the corresponding FXML views into the content area.
+ * The search box queries users, projects and teams once typing pauses for
+ * {@code search.debounceMillis} (default 150 ms) and lists the matches in a drop-down.
  */
 public class DashboardViewImpl implements Initializable, MenuSelectionHandler {
 
+    /**
+     * Pause in typing after which the search runs
+     */
+    private static final long SEARCH_DEBOUNCE_MILLIS = Long.getLong("search.debounceMillis", 150L);
+
     /**
      * Container holding the menu items (VBox)
      */
@@ -36,6 +60,27 @@ public class DashboardViewImpl implements Initializable, MenuSelectionHandler {
     @FXML
     private StackPane contentArea;
 
+    /**
+     * Search box above the content area
+     */
+    @FXML
+    private TextField searchField;
+
+    /**
+     * Drop-down listing the search results
+     */
+    private final ContextMenu searchResults = new ContextMenu();
+
+    /**
+     * Restarted on every keystroke; runs the search when it elapses
+     */
+    private final PauseTransition searchDebounce = new PauseTransition(Duration.millis(SEARCH_DEBOUNCE_MILLIS));
+
+    /**
+     * Presenter running the searches
+     */
+    private final SearchPresenter searchPresenter = new SearchPresenter();
+
     /**
      * List of HBox menu items extracted from menuContainer
      */
@@ -66,6 +111,8 @@ public class DashboardViewImpl implements Initializable, MenuSelectionHandler {
                 .map(node -> (HBox) node)
                 .collect(Collectors.toList());
 
+        setUpSearch();
+
         // Load default home view
         try {
             loadView("/view/layouts/HomeView.fxml", (HBox) menuItems.get(0));
@@ -106,24 +153,26 @@ public class DashboardViewImpl implements Initializable, MenuSelectionHandler {
     }
 
     /**
-     * Loads a view from FXML and sets it in the content area.
-     * Marks the corresponding menu as active.
+     * Shows a view in the content area, reusing the cached screen if it was shown before
+     * (its data is refreshed). Marks the corresponding menu as active. Background loads started by the previous
+     * view are cancelled first, so their results cannot land in the new view.
      *
      * @param fxmlPath   Path to the FXML file
      * @param activeMenu The menu item associated with the view
      * @throws IOException if FXML cannot be loaded
      */
     private void loadView(String fxmlPath, HBox activeMenu) throws IOException {
-        FXMLLoader loader = new FXMLLoader(Objects.requireNonNull(getClass().getResource(fxmlPath)));
-        Parent fxml = loader.load();
+        Async.cancelPending();
+
+        ScreenCache.Screen<Object> screen = ScreenCache.show(fxmlPath);
 
         // If loading HomeView, pass contentArea and MenuSelectionHandler
-        Object controller = loader.getController();
+        Object controller = screen.getController();
         if (controller instanceof HomeViewImpl) {
             ((HomeViewImpl) controller).setContentArea(contentArea, this);
         }
 
-        contentArea.getChildren().setAll(fxml);
+        contentArea.getChildren().setAll(screen.getRoot());
         setActiveMenu(activeMenu);
     }
 
@@ -142,4 +191,94 @@ public class DashboardViewImpl implements Initializable, MenuSelectionHandler {
             }
         }
     }
+
+    /**
+     * Wires the search box: typing restarts the debounce timer, Enter searches at once, and
+     * focusing the box starts loading the index.
+     */
+    private void setUpSearch() {
+        searchDebounce.setOnFinished(event -> runSearch(searchField.getText()));
+        searchField.textProperty().addListener((observable, oldText, newText) -> searchDebounce.playFromStart());
+        searchField.setOnAction(event -> {
+            searchDebounce.stop();
+            runSearch(searchField.getText());
+        });
+        searchField.focusedProperty().addListener((observable, wasFocused, focused) -> {
+            if (focused) {
+                searchPresenter.preload();
+            }
+        });
+    }
+
+    /**
+     * Searches in the background and shows the results, unless the text changed meanwhile.
+     *
+     * @param query text of the search box
+     */
+    private void runSearch(String query) {
+        if (query == null || query.isBlank()) {
+            searchPresenter.cancel();
+            searchResults.hide();
+            return;
+        }
+        Async.onFx(searchPresenter.search(query), hits -> {
+            if (query.equals(searchField.getText())) {
+                showSearchResults(hits);
+            }
+        }, error -> Logger.error("Search failed: " + error.getMessage()));
+    }
+
+    /**
+     * Fills the drop-down below the search box with the results.
+     *
+     * @param hits search results
+     */
+    private void showSearchResults(List<Hit> hits) {
+        List<MenuItem> items = new ArrayList<>();
+        for (Hit hit : hits) {
+            String label = switch (hit.entity()) {
+                case USER -> "User: ";
+                case PROJECT -> "Project: ";
+                case TEAM -> "Team: ";
+            } + hit.title() + (hit.detail() != null ? " (" + hit.detail() + ")" : "");
+            MenuItem item = new MenuItem(label);
+            item.setMnemonicParsing(false);
+            item.setOnAction(event -> openSearchResult(hit));
+            items.add(item);
+        }
+        if (items.isEmpty()) {
+            MenuItem none = new MenuItem("No results");
+            none.setDisable(true);
+            items.add(none);
+        }
+        searchResults.getItems().setAll(items);
+        if (!searchResults.isShowing()) {
+            searchResults.show(searchField, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * Loads the full row of a search result in the background and opens its details screen.
+     *
+     * @param hit selected search result
+     */
+    private void openSearchResult(Hit hit) {
+        switch (hit.entity()) {
+            case USER -> Async.onFx(new UserPresenter(new UserRepository()).getUserAsync(hit.id()), user -> {
+                if (user != null) {
+                    UserDetailsScreenFactory.showUserDetails(user, null);
+                }
+            });
+            case PROJECT -> Async.onFx(new ProjectPresenter(new ProjectRepository()).getProjectAsync(hit.id()), project -> {
+                if (project != null) {
+                    ProjectDetailsScreenFactory.showProjectDetails(project);
+                }
+            });
+            case TEAM -> Async.onFx(new TeamPresenter(new TeamRepository()).getTeamAsync(hit.id()), team -> {
+                if (team != null) {
+                    TeamDetailsScreenFactory.showTeamDetails(team);
+                }
+            });
+        }
+    }
 }
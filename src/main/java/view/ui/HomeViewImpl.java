@@ -1,25 +1,23 @@
 package view.ui;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.StackPane;
-import repository.ProjectRepository;
-import repository.TeamRepository;
-import repository.UserRepository;
+import model.DashboardSummary;
+import service.DashboardSummaryService;
+import util.Async;
 import util.Logger;
+import util.ScreenCache;
 import view.interfaces.MenuSelectionHandler;
 
 import java.io.IOException;
-import java.util.Objects;
 
 /**
  * JavaFX view for the home/dashboard screen.
  * Displays summary counts of users, projects, and teams, and provides quick navigation buttons.
  */
-public class HomeViewImpl {
+public class HomeViewImpl implements ScreenCache.Reshowable {
 
     /**
      * Buttons to navigate to respective views
@@ -43,17 +41,9 @@ public class HomeViewImpl {
      */
     private MenuSelectionHandler menuHandler;
 
-    /**
-     * Repositories to fetch data from database
-     */
-    private UserRepository userRepository;
-    private ProjectRepository projectRepository;
-    private TeamRepository teamRepository;
-
     /**
      * Initializes the home view.
-     * Disables focus traversal on buttons and initializes repositories.
-     * Also updates the dashboard counts.
+     * Disables focus traversal on buttons and updates the dashboard counts.
      */
     @FXML
     public void initialize() {
@@ -62,15 +52,18 @@ public class HomeViewImpl {
         btnViewProjects.setFocusTraversable(false);
         btnViewTeams.setFocusTraversable(false);
 
-        // Initialize repositories
-        userRepository = new UserRepository();
-        projectRepository = new ProjectRepository();
-        teamRepository = new TeamRepository();
-
         // Populate initial counts
         updateDashboardCounts();
     }
 
+    /**
+     * Updates the counts when the cached home screen is shown again.
+     */
+    @Override
+    public void onReshow() {
+        updateDashboardCounts();
+    }
+
     /**
      * Sets the content area StackPane and menu handler for navigation.
      *
@@ -93,15 +86,16 @@ public class HomeViewImpl {
     }
 
     /**
-     * Loads an FXML page into the content area and updates the menu selection.
+     * Shows a page in the content area, reusing its cached screen, and updates the menu selection.
      *
      * @param fxmlPath Path to the FXML file
      * @param menuId   ID of the menu to select
      */
     private void loadPage(String fxmlPath, String menuId) {
+        // Drop pending loads of the dashboard before showing the next view
+        Async.cancelPending();
         try {
-            Parent fxml = FXMLLoader.load(Objects.requireNonNull(getClass().getResource(fxmlPath)));
-            contentArea.getChildren().setAll(fxml);
+            contentArea.getChildren().setAll(ScreenCache.show(fxmlPath).getRoot());
 
             // Update menu selection if handler is set
             if (menuHandler != null) {
@@ -114,11 +108,34 @@ public class HomeViewImpl {
     }
 
     /**
-     * Updates the dashboard count labels with current values from the database.
+     * Updates the dashboard count labels.
+     * The last known totals are shown right away; if they are older than the summary TTL they
+     * are reloaded in the background (one query) and the labels are updated when it finishes.
      */
     public void updateDashboardCounts() {
-        lblUsersCount.setText(String.valueOf(userRepository.countUsers()));
-        lblProjectsCount.setText(String.valueOf(projectRepository.countProjects()));
-        lblTeamsCount.setText(String.valueOf(teamRepository.countTeams()));
+        DashboardSummary cached = DashboardSummaryService.peek();
+        if (cached != null) {
+            showCounts(cached);
+        }
+        if (!DashboardSummaryService.isStale()) {
+            return;
+        }
+
+        Async.onFx(Async.supply(DashboardSummaryService::refresh), fresh -> {
+            if (fresh != null) {
+                showCounts(fresh);
+            }
+        });
+    }
+
+    /**
+     * Shows totals in the count labels.
+     *
+     * @param summary totals to show
+     */
+    private void showCounts(DashboardSummary summary) {
+        lblUsersCount.setText(String.valueOf(summary.users()));
+        lblProjectsCount.setText(String.valueOf(summary.projects()));
+        lblTeamsCount.setText(String.valueOf(summary.teams()));
     }
 }
@@ -2,12 +2,15 @@ package view.ui;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import presenter.LoginPresenter;
 import repository.UserRepository;
 import util.NavigationService;
+import util.StartupOrchestrator;
 import view.interfaces.LoginView;
 
 /**
@@ -28,6 +31,18 @@ public class LoginViewImpl implements LoginView {
     @FXML
     private PasswordField passwordField;
 
+    /**
+     * Login button, disabled while credentials are being verified
+     */
+    @FXML
+    private Button loginButton;
+
+    /**
+     * Spinner shown while credentials are being verified
+     */
+    @FXML
+    private ProgressIndicator loginProgress;
+
     /**
      * Presenter that handles the login logic
      */
@@ -76,6 +91,19 @@ public class LoginViewImpl implements LoginView {
         return passwordField.getText();
     }
 
+    /**
+     * Shows the spinner and disables the form while credentials are verified.
+     *
+     * @param busy true while verification is running
+     */
+    @Override
+    public void setBusy(boolean busy) {
+        loginProgress.setVisible(busy);
+        loginButton.setDisable(busy);
+        loginField.setDisable(busy);
+        passwordField.setDisable(busy);
+    }
+
     /**
      * Shows an error alert with the given message.
      *
@@ -104,7 +132,7 @@ public class LoginViewImpl implements LoginView {
 
     /**
      * Opens the main dashboard view after a successful login.
-     * Closes the current login stage.
+     * Closes the current login stage and logs the startup report.
      */
     @Override
     public void openUserView() {
@@ -117,5 +145,6 @@ public class LoginViewImpl implements LoginView {
                 false,                               // Not resizable
                 false                                // Not modal
         );
+        StartupOrchestrator.finish("dashboard shown");
     }
 }
@@ -0,0 +1,319 @@
+package view.ui.component;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import model.User;
+import util.Logger;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Round avatars with a user's initials on a color derived from their name, rendered locally
+ * instead of being downloaded.
+ * <p>
+ * Rendered avatars are kept in a small in-memory LRU ({@code avatars.memoryCacheSize}, default
+ * 256) and as raw ARGB files in an on-disk cache ({@code avatars.cacheDir}, default
+ * {@code ~/.systemgp/avatars}) bounded to {@code avatars.diskCacheBytes} (default 4 MB), oldest
+ * files removed first. Entries are keyed by user ID, a hash of the name and the size, so a
+ * renamed user gets a new avatar. Must only be used on the JavaFX Application Thread.
+ * <p>
+ * {@link #get} never touches the disk, since it runs while cards are rebound during scrolling:
+ * a memory miss is rendered right away, and files are read and written by a background thread.
+ * That thread lists the cache directory once, preloads the most recently used avatars, and then
+ * keeps track of the file sizes itself.
+ */
+public final class Avatars {
+
+    /**
+     * Maximum number of avatars kept in memory
+     */
+    private static final int MEMORY_CACHE_SIZE = Integer.getInteger("avatars.memoryCacheSize", 256);
+
+    /**
+     * Maximum total size of the on-disk cache
+     */
+    private static final long DISK_CACHE_BYTES = Long.getLong("avatars.diskCacheBytes", 4L * 1024 * 1024);
+
+    /**
+     * Directory of the on-disk cache
+     */
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("avatars.cacheDir",
+            System.getProperty("user.home") + File.separator + ".systemgp" + File.separator + "avatars"));
+
+    /**
+     * Extension of cached avatar files
+     */
+    private static final String EXTENSION = ".argb";
+
+    /**
+     * Rendered avatars in access order (least recently used first)
+     */
+    private static final LinkedHashMap<String, Image> MEMORY = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+            return size() > MEMORY_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Avatars read from disk by {@link #loadDiskCache()}, waiting for their first use
+     */
+    private static final Map<String, Image> PRELOADED = new ConcurrentHashMap<>();
+
+    /**
+     * Runs all file reads and writes, one at a time
+     */
+    private static final ExecutorService DISK = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "avatar-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Size of each cached file by key, least recently used first, and their total; only used
+     * on the {@link #DISK} thread
+     */
+    private static final LinkedHashMap<String, Long> FILES = new LinkedHashMap<>(64, 0.75f, true);
+    private static long diskBytes;
+
+    static {
+        DISK.execute(Avatars::loadDiskCache);
+    }
+
+    private Avatars() {
+    }
+
+    /**
+     * Returns the avatar of a user, from memory, from disk or freshly rendered.
+     *
+     * @param user user
+     * @param size width and height in pixels
+     * @return avatar image
+     */
+    public static Image get(User user, int size) {
+        return get(user.getId(), user.getName(), size);
+    }
+
+    /**
+     * Returns the avatar of a user given only their ID and name, as shown on list cards.
+     *
+     * @param userId user ID
+     * @param name   full name, or null
+     * @param size   width and height in pixels
+     * @return avatar image
+     */
+    public static Image get(int userId, String name, int size) {
+        name = name != null ? name : "";
+        String key = userId + "-" + Integer.toHexString(name.hashCode()) + "-" + size;
+
+        Image image = MEMORY.get(key);
+        if (image == null) {
+            image = PRELOADED.remove(key);
+            if (image != null) {
+                DISK.execute(() -> touch(key));
+            } else {
+                image = render(name, size);
+                int[] pixels = pixelsOf(image);
+                int width = (int) image.getWidth();
+                int height = (int) image.getHeight();
+                DISK.execute(() -> writeToDisk(key, width, height, pixels));
+            }
+            MEMORY.put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Draws the initials of a name on a filled circle.
+     *
+     * @param name full name
+     * @param size width and height in pixels
+     * @return rendered avatar with a transparent background
+     */
+    static WritableImage render(String name, int size) {
+        Canvas canvas = new Canvas(size, size);
+        GraphicsContext g = canvas.getGraphicsContext2D();
+
+        g.setFill(colorOf(name));
+        g.fillOval(0, 0, size, size);
+
+        g.setFill(Color.WHITE);
+        g.setFont(Font.font(Font.getDefault().getFamily(), FontWeight.BOLD, size * 0.4));
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        g.fillText(initialsOf(name), size / 2.0, size / 2.0);
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return canvas.snapshot(parameters, new WritableImage(size, size));
+    }
+
+    /**
+     * Returns up to two initials: the first letters of the first and last words.
+     */
+    static String initialsOf(String name) {
+        String[] words = name.trim().split("\\s+");
+        if (words[0].isEmpty()) {
+            return "?";
+        }
+        String initials = words[0].substring(0, 1);
+        if (words.length > 1) {
+            initials += words[words.length - 1].substring(0, 1);
+        }
+        return initials.toUpperCase();
+    }
+
+    /**
+     * Returns a stable background color for a name, varying only the hue so white text stays readable.
+     */
+    static Color colorOf(String name) {
+        return Color.hsb(Math.floorMod(name.hashCode(), 360), 0.55, 0.75);
+    }
+
+    /**
+     * Returns the ARGB pixels of an image, row by row.
+     */
+    private static int[] pixelsOf(Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(),
+                pixels, 0, width);
+        return pixels;
+    }
+
+    /**
+     * Lists the cache directory once, recording the file sizes, and preloads the most recently
+     * used avatars. Runs on the {@link #DISK} thread.
+     */
+    private static void loadDiskCache() {
+        File[] files = CACHE_DIR.toFile().listFiles((dir, name) -> name.endsWith(EXTENSION));
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            String key = file.getName().substring(0, file.getName().length() - EXTENSION.length());
+            FILES.put(key, file.length());
+            diskBytes += file.length();
+        }
+        for (int i = files.length - 1; i >= Math.max(0, files.length - MEMORY_CACHE_SIZE); i--) {
+            String key = files[i].getName().substring(0, files[i].getName().length() - EXTENSION.length());
+            Image image = readFromDisk(files[i].toPath());
+            if (image != null) {
+                PRELOADED.putIfAbsent(key, image);
+            }
+        }
+        try {
+            trimDiskCache();
+        } catch (IOException e) {
+            Logger.warn("Failed to trim the avatar cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads a cached avatar file, or returns null if it is unreadable.
+     */
+    private static Image readFromDisk(Path file) {
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(in)) {
+            int width = data.readInt();
+            int height = data.readInt();
+            if (width <= 0 || height <= 0 || width > 1024 || height > 1024) {
+                return null;
+            }
+            byte[] bytes = data.readNBytes(width * height * 4);
+            if (bytes.length != width * height * 4) {
+                return null;
+            }
+            int[] pixels = new int[width * height];
+            ByteBuffer.wrap(bytes).asIntBuffer().get(pixels);
+            WritableImage image = new WritableImage(width, height);
+            image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(),
+                    pixels, 0, width);
+            return image;
+        } catch (IOException e) {
+            Logger.warn("Failed to read cached avatar " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Marks a cached file as recently used, so trimming removes other files first.
+     */
+    private static void touch(String key) {
+        FILES.get(key);
+        try {
+            Files.setLastModifiedTime(CACHE_DIR.resolve(key + EXTENSION),
+                    FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            Logger.warn("Failed to touch cached avatar " + key + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stores an avatar as its size followed by raw ARGB pixels, then trims the cache to its
+     * size limit. Runs on the {@link #DISK} thread.
+     * Failures are logged; the avatar is then simply rendered again next time.
+     */
+    private static void writeToDisk(String key, int width, int height, int[] pixels) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + pixels.length * 4).putInt(width).putInt(height);
+        buffer.asIntBuffer().put(pixels);
+
+        try {
+            Files.createDirectories(CACHE_DIR);
+            // Write to a temporary file first, so a crash never leaves a truncated avatar
+            Path temp = Files.createTempFile(CACHE_DIR, key, ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                out.write(buffer.array());
+            }
+            Files.move(temp, CACHE_DIR.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+            Long previous = FILES.put(key, (long) buffer.capacity());
+            diskBytes += buffer.capacity() - (previous != null ? previous : 0);
+            trimDiskCache();
+        } catch (IOException e) {
+            Logger.warn("Failed to cache avatar " + key + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the least recently used files until the cache fits its size limit, using the
+     * tracked sizes instead of listing the directory.
+     */
+    private static void trimDiskCache() throws IOException {
+        Iterator<Map.Entry<String, Long>> eldest = FILES.entrySet().iterator();
+        while (diskBytes > DISK_CACHE_BYTES && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            Files.deleteIfExists(CACHE_DIR.resolve(entry.getKey() + EXTENSION));
+            diskBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package view.ui.component;
+
+import javafx.scene.Node;
+
+/**
+ * A reusable card shown by {@link CardGrid}.
+ * <p>
+ * A card builds its nodes once; while the user scrolls, the grid calls {@link #update}
+ * to show a different item in the same nodes instead of creating new ones.
+ *
+ * @param <T> item type
+ */
+public interface CardCell<T> {
+
+    /**
+     * Returns the root node of the card. Must always return the same node.
+     *
+     * @return card node
+     */
+    Node getNode();
+
+    /**
+     * Shows an item in the card.
+     *
+     * @param item item to display
+     */
+    void update(T item);
+}
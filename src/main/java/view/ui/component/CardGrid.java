@@ -0,0 +1,343 @@
+package view.ui.component;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Virtualized grid of cards.
+ * <p>
+ * The items are grouped into rows of {@link #getColumns()} cards and shown in a {@link ListView},
+ * so only the rows inside the viewport (plus one or two spare rows) have live nodes. Each row
+ * cell creates its cards once through the card factory and rebinds them to other items while
+ * scrolling, which keeps the node count constant no matter how many items are loaded.
+ * When a row close to the end becomes visible, the near-end handler is called so the owner
+ * can load the next page.
+ * <p>
+ * {@link #reconcileCardItems} applies a reloaded list row by row, comparing each row with the
+ * one at the same position: rows whose items have the same keys and versions are left alone, so
+ * in-place edits only rebind their own row and the scroll position is kept. An insertion or
+ * removal shifts the items of every later row, so those rows are all rebound.
+ *
+ * @param <T> item type
+ */
+public class CardGrid<T> extends ListView<List<T>> {
+
+    /**
+     * Number of rows from the end at which the near-end handler fires
+     */
+    private static final int NEAR_END_ROWS = 3;
+
+    /**
+     * Default height of a row (card height plus vertical gap)
+     */
+    private static final double DEFAULT_ROW_HEIGHT = 200;
+
+    /**
+     * Horizontal gap between cards and vertical gap between rows
+     */
+    private static final double GAP = 20;
+
+    /**
+     * Cards per row
+     */
+    private int columns = 3;
+
+    /**
+     * Creates the cards used by the row cells
+     */
+    private Supplier<CardCell<T>> cardFactory;
+
+    /**
+     * Called when one of the last rows becomes visible
+     */
+    private Runnable onNearEnd;
+
+    /**
+     * Identity and version of an item, used to detect changed rows when reconciling
+     */
+    private Function<T, ?> keyOf = Function.identity();
+    private Function<T, ?> versionOf = item -> item;
+
+    /**
+     * All items in display order
+     */
+    private final List<T> cards = new ArrayList<>();
+
+    /**
+     * Items grouped into rows; the backing list of the ListView
+     */
+    private final ObservableList<List<T>> rows = FXCollections.observableArrayList();
+
+    /**
+     * Creates an empty grid with three columns.
+     */
+    public CardGrid() {
+        setItems(rows);
+        setFixedCellSize(DEFAULT_ROW_HEIGHT);
+        setFocusTraversable(false);
+        setStyle("-fx-background-color: transparent; -fx-background-insets: 0; -fx-padding: 0;");
+        setCellFactory(list -> new RowCell());
+    }
+
+    /**
+     * Sets the factory that creates the cards of each row.
+     *
+     * @param cardFactory card factory
+     */
+    public void setCardFactory(Supplier<CardCell<T>> cardFactory) {
+        this.cardFactory = cardFactory;
+        refresh();
+    }
+
+    /**
+     * Sets the handler called when a row near the end becomes visible.
+     *
+     * @param onNearEnd handler, typically loading the next page
+     */
+    public void setOnNearEnd(Runnable onNearEnd) {
+        this.onNearEnd = onNearEnd;
+    }
+
+    /**
+     * Sets the message shown when the grid has no items.
+     *
+     * @param message placeholder text
+     */
+    public void setEmptyMessage(String message) {
+        Label label = new Label(message);
+        label.setStyle("-fx-font-size: 14px; -fx-text-fill: gray;");
+        setPlaceholder(label);
+    }
+
+    /**
+     * Returns the number of cards per row.
+     *
+     * @return column count
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Sets the number of cards per row.
+     *
+     * @param columns column count (at least 1)
+     */
+    public void setColumns(int columns) {
+        this.columns = Math.max(1, columns);
+        regroup();
+    }
+
+    /**
+     * Sets the height of a row including the gap below it.
+     *
+     * @param rowHeight row height in pixels
+     */
+    public void setRowHeight(double rowHeight) {
+        setFixedCellSize(rowHeight);
+    }
+
+    /**
+     * Returns the displayed items.
+     *
+     * @return read-only view of the items in display order
+     */
+    public List<T> getCardItems() {
+        return Collections.unmodifiableList(cards);
+    }
+
+    /**
+     * Replaces all items.
+     *
+     * @param items items to show
+     */
+    public void setCardItems(List<T> items) {
+        cards.clear();
+        cards.addAll(items);
+        regroup();
+    }
+
+    /**
+     * Appends items after the current ones, filling up the last row first.
+     *
+     * @param items items to append
+     */
+    public void appendCardItems(List<T> items) {
+        if (items.isEmpty()) return;
+
+        int start = cards.size();
+        cards.addAll(items);
+
+        // Rebuild the (possibly partial) last row, then add the new rows
+        int firstRow = start / columns;
+        List<List<T>> newRows = new ArrayList<>();
+        for (int from = firstRow * columns; from < cards.size(); from += columns) {
+            newRows.add(List.copyOf(cards.subList(from, Math.min(from + columns, cards.size()))));
+        }
+        if (firstRow < rows.size()) {
+            rows.set(firstRow, newRows.remove(0));
+        }
+        rows.addAll(newRows);
+    }
+
+    /**
+     * Sets how items are identified and versioned when a reloaded list is reconciled.
+     *
+     * @param keyOf     stable identity of an item (e.g. its ID)
+     * @param versionOf value that changes whenever the displayed content changes
+     */
+    public void setIdentity(Function<T, ?> keyOf, Function<T, ?> versionOf) {
+        this.keyOf = keyOf;
+        this.versionOf = versionOf;
+    }
+
+    /**
+     * Replaces the items with a reloaded list, touching only the rows that differ from the row
+     * at the same position. A row is kept when it holds the same keys with the same versions in
+     * the same order; rows are not matched across positions, since the grid regroups the items
+     * in order and a shifted item moves every later row. Rows beyond the new end are removed and
+     * extra rows are appended. The scroll position is preserved.
+     *
+     * @param items reloaded items in display order
+     * @return number of rows that were added, removed or updated
+     */
+    public int reconcileCardItems(List<T> items) {
+        cards.clear();
+        cards.addAll(items);
+
+        List<List<T>> fresh = new ArrayList<>();
+        for (int from = 0; from < cards.size(); from += columns) {
+            fresh.add(List.copyOf(cards.subList(from, Math.min(from + columns, cards.size()))));
+        }
+
+        int changed = 0;
+        int common = Math.min(rows.size(), fresh.size());
+        for (int i = 0; i < common; i++) {
+            if (!sameRow(rows.get(i), fresh.get(i))) {
+                rows.set(i, fresh.get(i));
+                changed++;
+            }
+        }
+        if (rows.size() > fresh.size()) {
+            changed += rows.size() - fresh.size();
+            rows.remove(fresh.size(), rows.size());
+        } else if (fresh.size() > common) {
+            changed += fresh.size() - common;
+            rows.addAll(fresh.subList(common, fresh.size()));
+        }
+        return changed;
+    }
+
+    /**
+     * Returns whether two rows show the same items in the same versions.
+     */
+    private boolean sameRow(List<T> displayed, List<T> reloaded) {
+        if (displayed.size() != reloaded.size()) return false;
+        for (int i = 0; i < displayed.size(); i++) {
+            T a = displayed.get(i);
+            T b = reloaded.get(i);
+            if (!Objects.equals(keyOf.apply(a), keyOf.apply(b))
+                    || !Objects.equals(versionOf.apply(a), versionOf.apply(b))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all items.
+     */
+    public void clearCardItems() {
+        cards.clear();
+        rows.clear();
+    }
+
+    /**
+     * Groups all items into rows again.
+     */
+    private void regroup() {
+        List<List<T>> grouped = new ArrayList<>();
+        for (int from = 0; from < cards.size(); from += columns) {
+            grouped.add(List.copyOf(cards.subList(from, Math.min(from + columns, cards.size()))));
+        }
+        rows.setAll(grouped);
+    }
+
+    /**
+     * Row of the list: a fixed set of cards rebound to the items of the row it shows.
+     */
+    private final class RowCell extends ListCell<List<T>> {
+
+        /**
+         * Container for the cards of this row
+         */
+        private final HBox box = new HBox(GAP);
+
+        /**
+         * Cards created for this row, reused for every row the cell shows
+         */
+        private final List<CardCell<T>> slots = new ArrayList<>();
+
+        /**
+         * Factory the slots were created with
+         */
+        private Supplier<CardCell<T>> slotFactory;
+
+        private RowCell() {
+            box.setPadding(new Insets(5, 5, GAP - 5, 5));
+            setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+        }
+
+        @Override
+        protected void updateItem(List<T> row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null || cardFactory == null) {
+                setGraphic(null);
+                return;
+            }
+
+            ensureSlots();
+            for (int i = 0; i < slots.size(); i++) {
+                CardCell<T> slot = slots.get(i);
+                boolean used = i < row.size();
+                slot.getNode().setVisible(used);
+                if (used) {
+                    slot.update(row.get(i));
+                }
+            }
+            setGraphic(box);
+
+            if (onNearEnd != null && getIndex() >= rows.size() - NEAR_END_ROWS) {
+                onNearEnd.run();
+            }
+        }
+
+        /**
+         * Creates the cards of this row on first use or after the factory or column count changed.
+         */
+        private void ensureSlots() {
+            if (slotFactory == cardFactory && slots.size() == columns) return;
+
+            slots.clear();
+            box.getChildren().clear();
+            for (int i = 0; i < columns; i++) {
+                CardCell<T> slot = cardFactory.get();
+                slots.add(slot);
+                box.getChildren().add(slot.getNode());
+            }
+            slotFactory = cardFactory;
+        }
+    }
+}
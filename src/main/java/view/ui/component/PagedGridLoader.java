@@ -0,0 +1,248 @@
+package view.ui.component;
+
+import repository.Page;
+import repository.PageCursor;
+import service.ModelStore;
+import util.Async;
+import util.Logger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loads a {@link CardGrid} page by page while scrolling and keeps it up to date on refresh.
+ * <p>
+ * The first page is requested when the grid is empty, and the next one whenever its last rows
+ * come into view. A refresh pulls the changes tracked by the {@link ModelStore} since the last
+ * load and reconciles the grid with them, so the scroll position is kept; if changes are not
+ * tracked yet or cannot be read, the shown items are reloaded instead. Each refresh starts a
+ * new generation, and responses to requests of an earlier generation are ignored.
+ * <p>
+ * All methods must be called on the JavaFX thread.
+ *
+ * @param <T> card type
+ */
+public class PagedGridLoader<T> {
+
+    /**
+     * Loads a page of cards in the background.
+     *
+     * @param <T> card type
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+
+        /**
+         * @param after cursor to continue after, or null for the first page
+         * @param limit maximum number of cards
+         * @param store store recording the load
+         * @return future page
+         */
+        CompletableFuture<Page<T>> load(PageCursor after, int limit, ModelStore<T> store);
+    }
+
+    /**
+     * Applies the tracked changes to the shown cards in the background.
+     *
+     * @param <T> card type
+     */
+    @FunctionalInterface
+    public interface ChangeSource<T> {
+
+        /**
+         * @param store    store tracking the changes
+         * @param shown    cards currently shown, in display order
+         * @param complete whether every card is shown (no further pages)
+         * @return future updated cards, or null if the changes could not be read
+         */
+        CompletableFuture<List<T>> pull(ModelStore<T> store, List<T> shown, boolean complete);
+    }
+
+    /**
+     * Grid being filled
+     */
+    private final CardGrid<T> grid;
+
+    /**
+     * Cards fetched per page
+     */
+    private final int pageSize;
+
+    /**
+     * Plural name of the cards, used in log messages (e.g. "teams")
+     */
+    private final String noun;
+
+    /**
+     * Background page and change loads
+     */
+    private final PageSource<T> pages;
+    private final ChangeSource<T> changes;
+
+    /**
+     * Cursor that continues after a card, in the current sort order
+     */
+    private final Function<T, PageCursor> cursorOf;
+
+    /**
+     * Tracks changes since the last load, so refreshes fetch only changed cards
+     */
+    private ModelStore<T> store;
+
+    /**
+     * Message shown when there are no cards
+     */
+    private Supplier<String> emptyMessage;
+
+    /**
+     * Cursor for the next page and whether more pages exist
+     */
+    private PageCursor nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Whether a request is in flight, and a counter identifying the current refresh
+     * (responses requested before the latest refresh are ignored)
+     */
+    private boolean loading;
+    private int refreshGeneration;
+
+    /**
+     * Creates a loader and registers it as the grid's near-end handler.
+     *
+     * @param grid     grid to fill
+     * @param pageSize cards fetched per page (a multiple of the grid columns)
+     * @param noun     plural name of the cards, used in messages (e.g. "teams")
+     * @param pages    loads a page of cards
+     * @param changes  applies the tracked changes to the shown cards
+     * @param cursorOf cursor that continues after a card
+     * @param store    store tracking the changes of the shown cards
+     */
+    public PagedGridLoader(CardGrid<T> grid, int pageSize, String noun, PageSource<T> pages,
+                           ChangeSource<T> changes, Function<T, PageCursor> cursorOf, ModelStore<T> store) {
+        this.grid = grid;
+        this.pageSize = pageSize;
+        this.noun = noun;
+        this.pages = pages;
+        this.changes = changes;
+        this.cursorOf = cursorOf;
+        this.store = store;
+        this.emptyMessage = () -> "No " + noun + " available";
+        grid.setOnNearEnd(this::loadNextPage);
+    }
+
+    /**
+     * Sets the message shown when there are no cards (default "No &lt;noun&gt; available").
+     *
+     * @param emptyMessage supplies the message when it is shown
+     */
+    public void setEmptyMessage(Supplier<String> emptyMessage) {
+        this.emptyMessage = emptyMessage;
+    }
+
+    /**
+     * Clears the grid and loads it from the first page with a new store, e.g. after the
+     * filters changed.
+     *
+     * @param store store tracking the changes of the new list
+     */
+    public void restart(ModelStore<T> store) {
+        this.store = store;
+        grid.clearCardItems();
+        refresh();
+    }
+
+    /**
+     * Brings the cards currently shown up to date and reconciles them with the grid, so only
+     * changed cards are rebound and the scroll position is kept. Only the cards changed since
+     * the last load are fetched; if changes are not tracked yet, the shown cards are reloaded.
+     * If nothing is shown yet, loads the first page instead.
+     */
+    public void refresh() {
+        int displayed = grid.getCardItems().size();
+        refreshGeneration++;
+        loading = false;
+        if (displayed == 0) {
+            grid.setEmptyMessage("");
+            nextCursor = null;
+            hasMore = true;
+            loadNextPage();
+            return;
+        }
+        if (!store.isTracking()) {
+            requestPage(null, Math.max(pageSize, displayed), true);
+            return;
+        }
+        pullChanges();
+    }
+
+    /**
+     * Applies the changes since the last load to the grid in the background.
+     * Falls back to reloading the shown cards if the changes cannot be read.
+     */
+    private void pullChanges() {
+        loading = true;
+        int generation = refreshGeneration;
+        ModelStore<T> pulled = store;
+        List<T> shown = List.copyOf(grid.getCardItems());
+        Async.onFx(changes.pull(pulled, shown, !hasMore), items -> {
+            if (generation != refreshGeneration) return;
+            loading = false;
+            if (items == null) {
+                requestPage(null, Math.max(pageSize, shown.size()), true);
+                return;
+            }
+            grid.reconcileCardItems(items);
+            pulled.confirmPull();
+            // Continue after the new last card; cards moved past the window come with the next page
+            nextCursor = items.isEmpty() ? null : cursorOf.apply(items.get(items.size() - 1));
+            grid.setEmptyMessage(items.isEmpty() && !hasMore ? emptyMessage.get() : "");
+        }, error -> {
+            if (generation != refreshGeneration) return;
+            loading = false;
+            Logger.error("Failed to refresh " + noun + ": " + error.getMessage());
+        });
+    }
+
+    /**
+     * Fetches the next page in the background and appends it to the grid.
+     * Called again by the grid while its last rows are visible, so short pages keep loading
+     * until the viewport is filled.
+     */
+    private void loadNextPage() {
+        if (!hasMore || loading) return;
+        requestPage(nextCursor, pageSize, false);
+    }
+
+    /**
+     * Loads a page in the background and applies it to the grid.
+     *
+     * @param after     cursor to continue after, or null for the first page
+     * @param limit     maximum number of cards
+     * @param reconcile true to reconcile the shown cards with the page, false to append it
+     */
+    private void requestPage(PageCursor after, int limit, boolean reconcile) {
+        loading = true;
+        int generation = refreshGeneration;
+        Async.onFx(pages.load(after, limit, store), page -> {
+            if (generation != refreshGeneration) return;
+            loading = false;
+            nextCursor = page.next();
+            hasMore = page.hasMore();
+            if (reconcile) {
+                grid.reconcileCardItems(page.items());
+            } else {
+                grid.appendCardItems(page.items());
+            }
+            if (grid.getCardItems().isEmpty()) {
+                grid.setEmptyMessage(emptyMessage.get());
+            }
+        }, error -> {
+            if (generation != refreshGeneration) return;
+            loading = false;
+            Logger.error("Failed to load " + noun + ": " + error.getMessage());
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package view.ui.project;
+
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import model.ProjectCard;
+import view.ui.component.CardCell;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Card showing a project's name, description, status, manager and a "View Details" button.
+ * The nodes are created once and rebound to other projects while the grid scrolls.
+ */
+public class ProjectCardCell implements CardCell<ProjectCard> {
+
+    /**
+     * Root node of the card
+     */
+    private final StackPane card = new StackPane();
+
+    /**
+     * Labels updated for each project
+     */
+    private final Label nameLabel = new Label();
+    private final Label descLabel = new Label();
+    private final Label statusLabel = new Label();
+    private final Label managerLabel = new Label();
+
+    /**
+     * Project currently shown by the card
+     */
+    private ProjectCard project;
+
+    /**
+     * Builds the card nodes.
+     *
+     * @param onViewDetails called with the shown project when "View Details" is clicked
+     */
+    public ProjectCardCell(Consumer<ProjectCard> onViewDetails) {
+        card.setPrefSize(220, 180);
+        card.setStyle(
+                "-fx-background-color: white;" +
+                        "-fx-background-radius: 10;" +
+                        "-fx-effect: dropshadow(two-pass-box, rgba(0,0,0,0.2), 5, 0, 0, 2);"
+        );
+
+        VBox vbox = new VBox(5);
+        vbox.setStyle("-fx-padding: 10;");
+
+        nameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        descLabel.setStyle("-fx-text-fill: gray;");
+
+        // TODO: Replace hardcoded progress with actual project progress
+        ProgressBar progressBar = new ProgressBar(0.6);
+        progressBar.setPrefWidth(200);
+
+        Button viewDetailsButton = new Button("View Details");
+        viewDetailsButton.setMaxWidth(Double.MAX_VALUE);
+        viewDetailsButton.setOnAction(e -> onViewDetails.accept(project));
+
+        vbox.getChildren().addAll(nameLabel, descLabel, statusLabel, managerLabel, progressBar, viewDetailsButton);
+        card.getChildren().add(vbox);
+    }
+
+    /**
+     * Content version of a project card: changes whenever anything shown by the card changes,
+     * or the database row version moves. Used to skip unchanged cards when the grid is reconciled.
+     *
+     * @param project project card
+     * @return content hash
+     */
+    public static int versionOf(ProjectCard project) {
+        return Objects.hash(project.version(), project.name(), project.description(), project.status(),
+                project.manager());
+    }
+
+    @Override
+    public Node getNode() {
+        return card;
+    }
+
+    @Override
+    public void update(ProjectCard project) {
+        this.project = project;
+        nameLabel.setText(project.name());
+        descLabel.setText(project.description() != null ? project.description() : "");
+        statusLabel.setText("Status: " + (project.status() != null ? project.status().name() : "N/A"));
+        managerLabel.setText("Manager: " + (project.manager() != null ? project.manager() : "N/A"));
+    }
+}
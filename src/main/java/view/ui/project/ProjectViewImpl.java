@@ -2,27 +2,43 @@ package view.ui.project;
 
 import factory.project.ProjectAddScreenFactory;
 import factory.project.ProjectDetailsScreenFactory;
+import enums.ProjectStatus;
+import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
-import javafx.scene.control.Label;
-import javafx.scene.control.ProgressBar;
-import javafx.scene.layout.GridPane;
-import javafx.scene.layout.StackPane;
-import javafx.scene.layout.VBox;
-import model.Project;
+import javafx.scene.control.ComboBox;
+import javafx.util.StringConverter;
+import model.ProjectCard;
 import presenter.project.ProjectPresenter;
+import repository.ProjectQuery;
 import repository.ProjectRepository;
+import util.Async;
+import util.Logger;
+import util.ScreenCache;
+import view.ui.component.CardGrid;
+import view.ui.component.PagedGridLoader;
 
 import java.net.URL;
-import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 /**
  * Controller class for the Project view.
- * Handles displaying all projects in a grid and opening screens for adding or viewing project details.
+ * Handles displaying projects in a grid, loaded page by page while scrolling and filtered
+ * by the database, and opening screens for adding or viewing project details.
  */
-public class ProjectViewImpl implements Initializable {
+public class ProjectViewImpl implements Initializable, ScreenCache.Reshowable {
+
+    /**
+     * Number of projects fetched per page (a multiple of the 3 grid columns)
+     */
+    private static final int PAGE_SIZE = 30;
+
+    /**
+     * Status filter entry that shows every project
+     */
+    private static final String ALL_STATUSES = "All statuses";
 
     /**
      * Button to create a new project
@@ -31,16 +47,34 @@ public class ProjectViewImpl implements Initializable {
     private Button newProjectButton;
 
     /**
-     * GridPane to hold project cards
+     * Status filter and sort order of the list
      */
     @FXML
-    private GridPane projectGrid;
+    private ComboBox<String> statusFilter;
+    @FXML
+    private ComboBox<ProjectQuery.Sort> sortChoice;
+
+    /**
+     * Virtualized grid of project cards; only the visible rows have live nodes
+     */
+    @FXML
+    private CardGrid<ProjectCard> projectGrid;
 
     /**
      * Presenter to handle project-related logic
      */
     private ProjectPresenter presenter;
 
+    /**
+     * Filters and sort order of the displayed projects
+     */
+    private ProjectQuery query = ProjectQuery.ALL;
+
+    /**
+     * Fills the grid page by page and applies the tracked changes of the query on refresh
+     */
+    private PagedGridLoader<ProjectCard> loader;
+
     /**
      * Initializes the controller after FXML is loaded.
      * Sets up presenter and button actions, and refreshes the project grid.
@@ -55,87 +89,104 @@ public class ProjectViewImpl implements Initializable {
             refreshProjects();
         });
 
+        // Cards are reused while scrolling; the next page loads when the last rows come into view
+        projectGrid.setRowHeight(210);
+        projectGrid.setCardFactory(() -> new ProjectCardCell(this::showProjectDetails));
+        projectGrid.setIdentity(ProjectCard::id, ProjectCardCell::versionOf);
+        loader = new PagedGridLoader<>(projectGrid, PAGE_SIZE, "projects",
+                (after, limit, store) -> presenter.getProjectsPageAsync(query, after, limit, store),
+                presenter::pullProjectChangesAsync, card -> query.cursorOf(card), presenter.newProjectStore(query));
+        loader.setEmptyMessage(this::emptyMessage);
+
+        setUpFilters();
         refreshProjects();
     }
 
     /**
-     * Fetches all projects from the presenter and populates the grid.
+     * Fills the status and sort choices; changing either reloads the list from the first page.
      */
-    private void refreshProjects() {
-        List<Project> projects = presenter.getAllProjects();
-        populateProjectGrid(projects);
+    private void setUpFilters() {
+        statusFilter.getItems().add(ALL_STATUSES);
+        for (ProjectStatus status : ProjectStatus.values()) {
+            statusFilter.getItems().add(status.name());
+        }
+        statusFilter.setValue(ALL_STATUSES);
+
+        sortChoice.setItems(FXCollections.observableArrayList(ProjectQuery.Sort.values()));
+        sortChoice.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(ProjectQuery.Sort sort) {
+                if (sort == null) return "";
+                return switch (sort) {
+                    case NAME -> "Sort by name";
+                    case START_DATE -> "Sort by start date";
+                    case END_DATE -> "Sort by end date";
+                };
+            }
+
+            @Override
+            public ProjectQuery.Sort fromString(String text) {
+                return null; // Not editable
+            }
+        });
+        sortChoice.setValue(ProjectQuery.Sort.NAME);
+
+        statusFilter.setOnAction(event -> applyFilters());
+        sortChoice.setOnAction(event -> applyFilters());
     }
 
     /**
-     * Populates the project grid with cards for each project.
-     * Shows a message if the list is empty.
-     *
-     * @param projects List of projects to display
+     * Builds the query from the filter choices and reloads the list with it. The store is
+     * replaced too, since it tracks the changes of one query.
      */
-    private void populateProjectGrid(List<Project> projects) {
-        projectGrid.getChildren().clear();
-
-        if (projects == null || projects.isEmpty()) {
-            Label emptyLabel = new Label("No projects available");
-            emptyLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: gray;");
-            projectGrid.add(emptyLabel, 0, 0);
-            return;
-        }
+    private void applyFilters() {
+        String status = statusFilter.getValue();
+        ProjectQuery selected = ProjectQuery.ALL
+                .withStatuses(status == null || ALL_STATUSES.equals(status) ? Set.of() : Set.of(ProjectStatus.valueOf(status)))
+                .sortedBy(sortChoice.getValue());
+        if (selected.equals(query)) return;
+
+        query = selected;
+        loader.restart(presenter.newProjectStore(query));
+    }
 
-        int col = 0, row = 0;
-        for (Project project : projects) {
-            StackPane card = createProjectCard(project);
-            projectGrid.add(card, col, row);
+    /**
+     * Refreshes the grid when the cached screen is shown again.
+     */
+    @Override
+    public void onReshow() {
+        refreshProjects();
+    }
 
-            col++;
-            if (col >= 3) { // Move to next row after 3 columns
-                col = 0;
-                row++;
-            }
-        }
+    /**
+     * Brings the projects shown up to date, or loads the first page if none are shown yet.
+     */
+    private void refreshProjects() {
+        loader.refresh();
     }
 
     /**
-     * Creates a card UI element for a single project.
+     * Message shown when the list is empty, depending on whether a filter is set.
      *
-     * @param project Project object to display
-     * @return StackPane representing the project card
+     * @return empty list message
      */
-    private StackPane createProjectCard(Project project) {
-        StackPane card = new StackPane();
-        card.setPrefSize(220, 180);
-        card.setStyle(
-                "-fx-background-color: white;" +
-                        "-fx-background-radius: 10;" +
-                        "-fx-effect: dropshadow(two-pass-box, rgba(0,0,0,0.2), 5, 0, 0, 2);"
-        );
-
-        VBox vbox = new VBox(5);
-        vbox.setStyle("-fx-padding: 10;");
-
-        Label nameLabel = new Label(project.getName());
-        nameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
-
-        Label descLabel = new Label(project.getDescription() != null ? project.getDescription() : "");
-        descLabel.setStyle("-fx-text-fill: gray;");
-
-        Label statusLabel = new Label("Status: " +
-                (project.getStatus() != null ? project.getStatus().name() : "N/A"));
-
-        Label managerLabel = new Label("Manager: " +
-                (project.getManager() != null ? project.getManager() : "N/A"));
-
-        // TODO: Replace hardcoded progress with actual project progress
-        ProgressBar progressBar = new ProgressBar(0.6);
-        progressBar.setPrefWidth(200);
-
-        Button viewDetailsButton = new Button("View Details");
-        viewDetailsButton.setMaxWidth(Double.MAX_VALUE);
-        viewDetailsButton.setOnAction(e -> ProjectDetailsScreenFactory.showProjectDetails(project));
-
-        vbox.getChildren().addAll(nameLabel, descLabel, statusLabel, managerLabel, progressBar, viewDetailsButton);
-        card.getChildren().add(vbox);
+    private String emptyMessage() {
+        return query.isUnfiltered() ? "No projects available" : "No projects match the filters";
+    }
 
-        return card;
+    /**
+     * Loads the full project of a card in the background and opens its details screen.
+     * If the project no longer exists, the grid is refreshed instead.
+     *
+     * @param card card whose "View Details" button was clicked
+     */
+    private void showProjectDetails(ProjectCard card) {
+        Async.onFx(presenter.getProjectAsync(card.id()), project -> {
+            if (project == null) {
+                refreshProjects();
+                return;
+            }
+            ProjectDetailsScreenFactory.showProjectDetails(project);
+        }, error -> Logger.error("Failed to load project " + card.id() + ": " + error.getMessage()));
     }
 }
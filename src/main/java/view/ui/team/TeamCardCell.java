@@ -0,0 +1,83 @@
+package view.ui.team;
+
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import model.TeamCard;
+import view.ui.component.CardCell;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Card showing a team's name, description and a "View Details" button.
+ * The nodes are created once and rebound to other teams while the grid scrolls.
+ */
+public class TeamCardCell implements CardCell<TeamCard> {
+
+    /**
+     * Root node of the card
+     */
+    private final StackPane card = new StackPane();
+
+    /**
+     * Labels updated for each team
+     */
+    private final Label nameLabel = new Label();
+    private final Label descLabel = new Label();
+
+    /**
+     * Team currently shown by the card
+     */
+    private TeamCard team;
+
+    /**
+     * Builds the card nodes.
+     *
+     * @param onViewDetails called with the shown team when "View Details" is clicked
+     */
+    public TeamCardCell(Consumer<TeamCard> onViewDetails) {
+        card.setPrefSize(220, 140);
+        card.setStyle("-fx-background-color: white; -fx-background-radius: 10;" +
+                "-fx-effect: dropshadow(two-pass-box, rgba(0,0,0,0.2), 5, 0, 0, 2);");
+
+        VBox vbox = new VBox(10);
+        vbox.setStyle("-fx-padding: 15;");
+
+        nameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        descLabel.setStyle("-fx-text-fill: gray;");
+
+        // Button to view team details
+        Button viewDetailsButton = new Button("View Details");
+        viewDetailsButton.setMaxWidth(Double.MAX_VALUE);
+        viewDetailsButton.setOnAction(e -> onViewDetails.accept(team));
+
+        vbox.getChildren().addAll(nameLabel, descLabel, viewDetailsButton);
+        card.getChildren().add(vbox);
+    }
+
+    /**
+     * Content version of a team card: changes whenever anything shown by the card changes,
+     * or the database row version moves. Used to skip unchanged cards when the grid is reconciled.
+     *
+     * @param team team card
+     * @return content hash
+     */
+    public static int versionOf(TeamCard team) {
+        return Objects.hash(team.version(), team.name(), team.description());
+    }
+
+    @Override
+    public Node getNode() {
+        return card;
+    }
+
+    @Override
+    public void update(TeamCard team) {
+        this.team = team;
+        nameLabel.setText(team.name());
+        descLabel.setText(team.description() != null ? team.description() : "-");
+    }
+}
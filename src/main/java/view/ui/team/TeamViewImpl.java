@@ -5,23 +5,29 @@ import factory.team.TeamDetailsScreenFactory;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
-import javafx.scene.control.Label;
-import javafx.scene.layout.GridPane;
-import javafx.scene.layout.StackPane;
-import javafx.scene.layout.VBox;
-import model.Team;
+import model.TeamCard;
 import presenter.team.TeamPresenter;
+import repository.PageCursor;
 import repository.TeamRepository;
+import util.Async;
+import util.Logger;
+import util.ScreenCache;
+import view.ui.component.CardGrid;
+import view.ui.component.PagedGridLoader;
 
 import java.net.URL;
-import java.util.List;
 import java.util.ResourceBundle;
 
 /**
- * Controller for displaying the list of teams.
+ * Controller for displaying the list of teams, loaded page by page while scrolling.
  * Allows adding new teams and viewing team details.
  */
-public class TeamViewImpl implements Initializable {
+public class TeamViewImpl implements Initializable, ScreenCache.Reshowable {
+
+    /**
+     * Number of teams fetched per page (a multiple of the 3 grid columns)
+     */
+    private static final int PAGE_SIZE = 30;
 
     /**
      * Button to create a new team
@@ -30,16 +36,21 @@ public class TeamViewImpl implements Initializable {
     private Button newTeamButton;
 
     /**
-     * GridPane that holds all the team cards
+     * Virtualized grid of team cards; only the visible rows have live nodes
      */
     @FXML
-    private GridPane teamGrid;
+    private CardGrid<TeamCard> teamGrid;
 
     /**
      * Presenter handling team-related logic
      */
     private TeamPresenter presenter;
 
+    /**
+     * Fills the grid page by page and applies the tracked changes on refresh
+     */
+    private PagedGridLoader<TeamCard> loader;
+
     /**
      * Initializes the view.
      * Sets up the new team button and loads existing teams.
@@ -54,79 +65,45 @@ public class TeamViewImpl implements Initializable {
             refreshTeams();
         });
 
+        // Cards are reused while scrolling; the next page loads when the last rows come into view
+        teamGrid.setRowHeight(170);
+        teamGrid.setCardFactory(() -> new TeamCardCell(this::showTeamDetails));
+        teamGrid.setIdentity(TeamCard::id, TeamCardCell::versionOf);
+        loader = new PagedGridLoader<>(teamGrid, PAGE_SIZE, "teams", presenter::getTeamsPageAsync,
+                presenter::pullTeamChangesAsync, card -> new PageCursor(card.id(), card.name()),
+                presenter.newTeamStore());
+
         refreshTeams();
     }
 
     /**
-     * Refreshes the team grid by fetching all teams from the presenter.
+     * Refreshes the grid when the cached screen is shown again.
      */
-    private void refreshTeams() {
-        List<Team> teams = presenter.getAllTeams();
-        populateTeamGrid(teams);
+    @Override
+    public void onReshow() {
+        refreshTeams();
     }
 
     /**
-     * Populates the GridPane with team cards.
-     * If the list is empty, shows a placeholder message.
-     *
-     * @param teams List of teams to display
+     * Brings the teams shown up to date, or loads the first page if none are shown yet.
      */
-    private void populateTeamGrid(List<Team> teams) {
-        teamGrid.getChildren().clear();
-
-        if (teams == null || teams.isEmpty()) {
-            Label emptyLabel = new Label("No teams available");
-            emptyLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: gray;");
-            teamGrid.add(emptyLabel, 0, 0);
-            return;
-        }
-
-        int col = 0, row = 0;
-        for (Team team : teams) {
-            StackPane card = createTeamCard(team);
-            GridPane.setColumnIndex(card, col);
-            GridPane.setRowIndex(card, row);
-            teamGrid.getChildren().add(card);
-
-            col++;
-            if (col >= 3) { // Max 3 cards per row
-                col = 0;
-                row++;
-            }
-        }
+    private void refreshTeams() {
+        loader.refresh();
     }
 
     /**
-     * Creates a visual card for a team.
+     * Loads the full team of a card in the background and opens its details screen.
+     * If the team no longer exists, the grid is refreshed instead.
      *
-     * @param team Team to display
-     * @return StackPane representing the team card
+     * @param card card whose "View Details" button was clicked
      */
-    private StackPane createTeamCard(Team team) {
-        StackPane card = new StackPane();
-        card.setPrefSize(220, 140);
-        card.setStyle("-fx-background-color: white; -fx-background-radius: 10;" +
-                "-fx-effect: dropshadow(two-pass-box, rgba(0,0,0,0.2), 5, 0, 0, 2);");
-
-        VBox vbox = new VBox(10);
-        vbox.setStyle("-fx-padding: 15;");
-
-        // Team name label
-        Label nameLabel = new Label(team.getName());
-        nameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
-
-        // Team description label
-        Label descLabel = new Label(team.getDescription() != null ? team.getDescription() : "-");
-        descLabel.setStyle("-fx-text-fill: gray;");
-
-        // Button to view team details
-        Button viewDetailsButton = new Button("View Details");
-        viewDetailsButton.setMaxWidth(Double.MAX_VALUE);
-        viewDetailsButton.setOnAction(e -> TeamDetailsScreenFactory.showTeamDetails(team));
-
-        vbox.getChildren().addAll(nameLabel, descLabel, viewDetailsButton);
-        card.getChildren().add(vbox);
-
-        return card;
+    private void showTeamDetails(TeamCard card) {
+        Async.onFx(presenter.getTeamAsync(card.id()), team -> {
+            if (team == null) {
+                refreshTeams();
+                return;
+            }
+            TeamDetailsScreenFactory.showTeamDetails(team);
+        }, error -> Logger.error("Failed to load team " + card.id() + ": " + error.getMessage()));
     }
 }
@@ -0,0 +1,106 @@
+package view.ui.user;
+
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import model.UserCard;
+import view.ui.component.Avatars;
+import view.ui.component.CardCell;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Card showing a user's avatar, name, email, role and a "View Details" button.
+ * The nodes are created once and rebound to other users while the grid scrolls.
+ */
+public class UserCardCell implements CardCell<UserCard> {
+
+    /**
+     * Avatar width and height in pixels
+     */
+    private static final int AVATAR_SIZE = 32;
+
+    /**
+     * Root node of the card
+     */
+    private final StackPane card = new StackPane();
+
+    /**
+     * Labels updated for each user
+     */
+    private final Label nameLabel = new Label();
+    private final Label emailLabel = new Label();
+    private final Label roleLabel = new Label();
+
+    /**
+     * Avatar of the user, shown next to the name
+     */
+    private final ImageView avatarView = new ImageView();
+
+    /**
+     * User currently shown by the card
+     */
+    private UserCard user;
+
+    /**
+     * Builds the card nodes.
+     *
+     * @param onViewDetails called with the shown user when "View Details" is clicked
+     */
+    public UserCardCell(Consumer<UserCard> onViewDetails) {
+        card.setPrefSize(220, 140);
+        card.setStyle("-fx-background-color: white; " +
+                "-fx-background-radius: 10; " +
+                "-fx-effect: dropshadow(two-pass-box, rgba(0,0,0,0.2), 5, 0, 0, 2);");
+
+        VBox vbox = new VBox(10);
+        vbox.setStyle("-fx-padding: 15;");
+
+        nameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        emailLabel.setStyle("-fx-text-fill: gray;");
+        roleLabel.setStyle("-fx-text-fill: darkgray; -fx-font-size: 12px;");
+
+        // Button to open user details screen
+        Button viewDetailsButton = new Button("View Details");
+        viewDetailsButton.setMaxWidth(Double.MAX_VALUE);
+        viewDetailsButton.setOnAction(e -> onViewDetails.accept(user));
+
+        HBox header = new HBox(10, avatarView, nameLabel);
+        header.setAlignment(Pos.CENTER_LEFT);
+
+        vbox.getChildren().addAll(header, emailLabel, roleLabel, viewDetailsButton);
+        card.getChildren().add(vbox);
+    }
+
+    /**
+     * Content version of a user card: changes whenever anything shown by the card changes,
+     * or the database row version moves. Used to skip unchanged cards when the grid is reconciled.
+     *
+     * @param user user card
+     * @return content hash
+     */
+    public static int versionOf(UserCard user) {
+        return Objects.hash(user.version(), user.name(), user.email(), user.role());
+    }
+
+    @Override
+    public Node getNode() {
+        return card;
+    }
+
+    @Override
+    public void update(UserCard user) {
+        this.user = user;
+        nameLabel.setText(user.name());
+        avatarView.setImage(Avatars.get(user.id(), user.name(), AVATAR_SIZE));
+        emailLabel.setText(user.email());
+        // Default to COLLABORATOR if the role is missing
+        roleLabel.setText(user.role() != null ? user.role().name() : "COLLABORATOR");
+    }
+}
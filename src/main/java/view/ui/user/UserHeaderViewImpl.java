@@ -3,11 +3,11 @@ package view.ui.user;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.shape.Circle;
 import model.User;
 import util.Session;
+import view.ui.component.Avatars;
 
 import java.net.URL;
 import java.util.ResourceBundle;
@@ -71,21 +71,9 @@ public class UserHeaderViewImpl implements Initializable {
             nameLabel.setText(user.getName());
             roleLabel.setText(user.getRole() != null ? user.getRole().name() : "N/A");
 
-            // Generate a dynamic avatar image URL based on the user's name
-            String avatarUrl = "https://ui-avatars.com/api/?name="
-                    + user.getName().replace(" ", "")
-                    + "&format=png&rounded=true&background=random";
-
-            // Load the avatar image asynchronously
-            Image avatar = new Image(avatarUrl, true);
-            avatarImage.setImage(avatar);
-
-            // Hide the placeholder circle once the image is loaded
-            avatarImage.imageProperty().addListener((obs, oldImg, newImg) -> {
-                if (newImg != null) {
-                    avatarPlaceholder.setVisible(false);
-                }
-            });
+            // Avatar with the user's initials, rendered locally and cached
+            avatarImage.setImage(Avatars.get(user, 64));
+            avatarPlaceholder.setVisible(false);
         }
     }
 }
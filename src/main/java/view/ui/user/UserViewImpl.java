@@ -2,30 +2,43 @@ package view.ui.user;
 
 import factory.user.UserAddScreenFactory;
 import factory.user.UserDetailsScreenFactory;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.layout.GridPane;
-import javafx.scene.layout.StackPane;
-import javafx.scene.layout.VBox;
-import model.User;
+import javafx.scene.control.ProgressBar;
+import javafx.stage.FileChooser;
+import model.UserCard;
 import presenter.user.UserPresenter;
+import repository.PageCursor;
 import repository.UserRepository;
+import service.UserImportService.ImportReport;
+import util.Async;
+import util.Logger;
+import util.ScreenCache;
+import view.ui.component.CardGrid;
+import view.ui.component.PagedGridLoader;
 
-import java.util.List;
+import java.io.File;
 
 /**
- * JavaFX view for displaying a grid of users.
+ * JavaFX view for displaying a grid of users, loaded page by page while scrolling.
  * Each user is represented as a card showing name, email, role, and a "View Details" button.
  * Allows adding new users and refreshing the grid after changes.
  */
-public class UserViewImpl {
+public class UserViewImpl implements ScreenCache.Reshowable {
 
     /**
-     * GridPane that holds user cards
+     * Number of users fetched per page (a multiple of the 3 grid columns)
+     */
+    private static final int PAGE_SIZE = 30;
+
+    /**
+     * Virtualized grid of user cards; only the visible rows have live nodes
      */
     @FXML
-    private GridPane userGrid;
+    private CardGrid<UserCard> userGrid;
 
     /**
      * Button to open the "Add User" screen
@@ -33,11 +46,30 @@ public class UserViewImpl {
     @FXML
     private Button newUserButton;
 
+    /**
+     * Button to import users from a CSV or JSON file
+     */
+    @FXML
+    private Button importUsersButton;
+
+    /**
+     * Progress bar and status label shown while an import runs
+     */
+    @FXML
+    private ProgressBar importProgress;
+    @FXML
+    private Label importStatus;
+
     /**
      * Presenter handling user-related logic
      */
     private UserPresenter presenter;
 
+    /**
+     * Fills the grid page by page and applies the tracked changes on refresh
+     */
+    private PagedGridLoader<UserCard> loader;
+
     /**
      * Initializes the view and sets up event handlers.
      * Loads the initial list of users into the grid.
@@ -52,79 +84,109 @@ public class UserViewImpl {
             refreshUsers();
         });
 
+        importUsersButton.setOnAction(event -> importUsers());
+
+        // Cards are reused while scrolling; the next page loads when the last rows come into view
+        userGrid.setRowHeight(170);
+        userGrid.setCardFactory(() -> new UserCardCell(this::showUserDetails));
+        userGrid.setIdentity(UserCard::id, UserCardCell::versionOf);
+        loader = new PagedGridLoader<>(userGrid, PAGE_SIZE, "users", presenter::getUsersPageAsync,
+                presenter::pullUserChangesAsync, card -> new PageCursor(card.id(), card.name()),
+                presenter.newUserStore());
+
         refreshUsers();
     }
 
     /**
-     * Fetches the list of users from the presenter and populates the grid.
+     * Lets the user pick a CSV or JSON file and imports it in the background,
+     * showing progress in the header and a summary when done.
      */
-    private void refreshUsers() {
-        List<User> users = presenter.getAllUsers();
-        populateUserGrid(users);
+    private void importUsers() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Users");
+        chooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("CSV or JSON files", "*.csv", "*.json"));
+        File file = chooser.showOpenDialog(userGrid.getScene().getWindow());
+        if (file == null) return;
+
+        Task<ImportReport> task = new Task<>() {
+            @Override
+            protected ImportReport call() throws Exception {
+                return presenter.importUsers(file.toPath(), progress -> {
+                    updateProgress(progress.processed(), progress.total());
+                    updateMessage(String.format("%d/%d users (%.0f/s)",
+                            progress.processed(), progress.total(), progress.rowsPerSecond()));
+                });
+            }
+        };
+
+        importProgress.progressProperty().bind(task.progressProperty());
+        importStatus.textProperty().bind(task.messageProperty());
+        importProgress.setVisible(true);
+        importStatus.setVisible(true);
+        importUsersButton.setDisable(true);
+
+        task.setOnSucceeded(event -> {
+            finishImport();
+            ImportReport report = task.getValue();
+            String message = String.format("Imported %d of %d users in %.1f s (%.0f rows/s).",
+                    report.imported(), report.total(), report.elapsedMillis() / 1000.0, report.rowsPerSecond());
+            if (report.errorFile() != null) {
+                message += "\n" + report.failed() + " rows were rejected; see " + report.errorFile();
+            }
+            new Alert(report.failed() > 0 ? Alert.AlertType.WARNING : Alert.AlertType.INFORMATION, message)
+                    .showAndWait();
+            refreshUsers();
+        });
+        task.setOnFailed(event -> {
+            finishImport();
+            new Alert(Alert.AlertType.ERROR, "Import failed: " + task.getException().getMessage()).showAndWait();
+        });
+
+        Thread thread = new Thread(task, "user-import");
+        thread.setDaemon(true);
+        thread.start();
     }
 
     /**
-     * Populates the user grid with user cards.
-     * Arranges cards in a 3-column layout.
-     *
-     * @param users List of users to display
+     * Hides the import progress controls and re-enables the import button.
      */
-    private void populateUserGrid(List<User> users) {
-        userGrid.getChildren().clear();
-        int col = 0, row = 0;
-
-        for (User user : users) {
-            StackPane card = createUserCard(user);
-            GridPane.setColumnIndex(card, col);
-            GridPane.setRowIndex(card, row);
-            userGrid.getChildren().add(card);
-
-            col++;
-            if (col >= 3) {
-                col = 0;
-                row++;
-            }
-        }
+    private void finishImport() {
+        importProgress.progressProperty().unbind();
+        importStatus.textProperty().unbind();
+        importProgress.setVisible(false);
+        importStatus.setVisible(false);
+        importUsersButton.setDisable(false);
+    }
+
+    /**
+     * Refreshes the grid when the cached screen is shown again.
+     */
+    @Override
+    public void onReshow() {
+        refreshUsers();
     }
 
     /**
-     * Creates a visual card for a user, including name, email, role, and a "View Details" button.
+     * Brings the users shown up to date, or loads the first page if none are shown yet.
+     */
+    private void refreshUsers() {
+        loader.refresh();
+    }
+
+    /**
+     * Loads the full user of a card in the background and opens its details screen.
+     * If the user no longer exists, the grid is refreshed instead.
      *
-     * @param user The user to create a card for
-     * @return StackPane representing the user card
+     * @param card card whose "View Details" button was clicked
      */
-    private StackPane createUserCard(User user) {
-        StackPane card = new StackPane();
-        card.setPrefSize(220, 140);
-        card.setStyle("-fx-background-color: white; " +
-                "-fx-background-radius: 10; " +
-                "-fx-effect: dropshadow(two-pass-box, rgba(0,0,0,0.2), 5, 0, 0, 2);");
-
-        VBox vbox = new VBox(10);
-        vbox.setStyle("-fx-padding: 15;");
-
-        // User name
-        Label nameLabel = new Label(user.getName());
-        nameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
-
-        // User email
-        Label emailLabel = new Label(user.getEmail());
-        emailLabel.setStyle("-fx-text-fill: gray;");
-
-        // User role (default to COLLABORATOR if null)
-        Label roleLabel = new Label(user.getRole() != null ? user.getRole().name() : "COLLABORATOR");
-        roleLabel.setStyle("-fx-text-fill: darkgray; -fx-font-size: 12px;");
-
-        // Button to open user details screen
-        Button viewDetailsButton = new Button("View Details");
-        viewDetailsButton.setMaxWidth(Double.MAX_VALUE);
-        viewDetailsButton.setOnAction(e ->
-                UserDetailsScreenFactory.showUserDetails(user, this::refreshUsers)
-        );
-
-        vbox.getChildren().addAll(nameLabel, emailLabel, roleLabel, viewDetailsButton);
-        card.getChildren().add(vbox);
-
-        return card;
+    private void showUserDetails(UserCard card) {
+        Async.onFx(presenter.getUserAsync(card.id()), user -> {
+            if (user == null) {
+                refreshUsers();
+                return;
+            }
+            UserDetailsScreenFactory.showUserDetails(user, this::refreshUsers);
+        }, error -> Logger.error("Failed to load user " + card.id() + ": " + error.getMessage()));
     }
 }
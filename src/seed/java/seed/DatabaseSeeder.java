@@ -0,0 +1,231 @@
+package seed;
+
+import enums.UserRole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates a database with the tables of {@code sql/db/dump.sql} and fills it with generated rows,
+ * for the query plan audit and the benchmarks.
+ * <p>
+ * A seed of {@code rows} has that many users and projects, a tenth as many teams, ten members per
+ * team and one team per project. Users are numbered from 1, with login {@code user<id>}, CPF
+ * {@code <id>} padded to 11 digits and password "pass123"; the first twentieth are managers.
+ * Every row gets an old updated_at, so delta queries only see rows changed afterwards.
+ * The data is generated from a fixed seed, so two seeds of the same size are identical.
+ */
+public final class DatabaseSeeder {
+
+    /**
+     * BCrypt hash of "pass123", the password of the generated users
+     */
+    public static final String PASSWORD_HASH = "$2a$12$qS1LaodYXxEMOOmSE6E1c.UW0c.U2/KwF.iB6Mk1uSMkTKMYZO7b2";
+
+    /**
+     * Statuses of the generated projects, as stored in the status column
+     */
+    private static final String[] STATUSES = {"PLANNED", "IN_PROGRESS", "COMPLETED", "CANCELED"};
+
+    /**
+     * Rows per generated INSERT batch
+     */
+    private static final int BATCH_SIZE = 1_000;
+
+    /**
+     * Server the databases are created on, and the credentials used for everything
+     */
+    private final String serverUrl;
+    private final String user;
+    private final String password;
+
+    /**
+     * Schema file whose tables are created
+     */
+    private final Path schema;
+
+    /**
+     * Creates a seeder.
+     *
+     * @param serverUrl JDBC URL of the server, without a database
+     * @param user      user allowed to create databases
+     * @param password  password of the user
+     * @param schema    schema file whose tables are created
+     */
+    public DatabaseSeeder(String serverUrl, String user, String password, Path schema) {
+        this.serverUrl = serverUrl;
+        this.user = user;
+        this.password = password;
+        this.schema = schema;
+    }
+
+    /**
+     * Number of teams of a seed.
+     *
+     * @param rows users and projects of the seed
+     * @return team count
+     */
+    public static int teamCount(int rows) {
+        return Math.max(1, rows / 10);
+    }
+
+    /**
+     * JDBC URL of a database on the server, with the server URL's parameters.
+     *
+     * @param database database name
+     * @return JDBC URL
+     */
+    public String databaseUrl(String database) {
+        int query = serverUrl.indexOf('?');
+        String base = query >= 0 ? serverUrl.substring(0, query) : serverUrl;
+        String params = query >= 0 ? serverUrl.substring(query + 1) : "";
+        return (base.endsWith("/") ? base : base + "/") + database + "?" + params;
+    }
+
+    /**
+     * Drops and recreates a database from the schema file, fills it and updates its statistics.
+     *
+     * @param database database name; letters, digits and underscores only
+     * @param rows     users and projects to generate
+     * @throws SQLException if the database cannot be created or filled
+     * @throws IOException  if the schema file cannot be read
+     */
+    public void recreate(String database, int rows) throws SQLException, IOException {
+        if (!database.matches("\\w+")) {
+            throw new IllegalArgumentException("Invalid database name: " + database);
+        }
+        try (Connection conn = DriverManager.getConnection(serverUrl, user, password);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP DATABASE IF EXISTS " + database);
+            stmt.execute("CREATE DATABASE " + database);
+            stmt.execute("USE " + database);
+            for (String ddl : tableDefinitions()) {
+                stmt.execute(ddl);
+            }
+        }
+
+        try (Connection conn = DriverManager.getConnection(databaseUrl(database) + "&rewriteBatchedStatements=true",
+                user, password)) {
+            conn.setAutoCommit(false);
+            generate(conn, rows);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE TABLE users, teams, projects, team_members, project_teams");
+            }
+        }
+    }
+
+    /**
+     * CREATE TABLE statements of the schema file, in order. Comments, the database selection
+     * and the sample rows are skipped.
+     */
+    private List<String> tableDefinitions() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (String line : Files.readAllLines(schema)) {
+            int comment = line.indexOf("--");
+            script.append(comment >= 0 ? line.substring(0, comment) : line).append('\n');
+        }
+        List<String> tables = new ArrayList<>();
+        for (String statement : script.toString().split(";")) {
+            String trimmed = statement.strip();
+            if (trimmed.regionMatches(true, 0, "CREATE TABLE", 0, 12)) {
+                tables.add(trimmed);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Generates the rows, committing after each batch.
+     */
+    private static void generate(Connection conn, int rows) throws SQLException {
+        Random random = new Random(42);
+        Timestamp old = Timestamp.valueOf("2025-01-01 00:00:00");
+        int teams = teamCount(rows);
+        int managers = Math.max(1, rows / 20);
+        LocalDate firstStart = LocalDate.of(2020, 1, 1);
+
+        insert(conn, "INSERT INTO users (full_name, cpf, email, login, password, role, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                rows, (stmt, i) -> {
+                    int id = i + 1;
+                    stmt.setString(1, "User " + Integer.toString(id * 7919 % rows, 36) + " " + id);
+                    stmt.setString(2, String.format("%011d", id));
+                    stmt.setString(3, "user" + id + "@example.com");
+                    stmt.setString(4, "user" + id);
+                    stmt.setString(5, PASSWORD_HASH);
+                    stmt.setString(6, id <= managers ? UserRole.MANAGER.name() : UserRole.COLLABORATOR.name());
+                    stmt.setTimestamp(7, old);
+                });
+
+        insert(conn, "INSERT INTO teams (name, description, updated_at) VALUES (?, ?, ?)", teams, (stmt, i) -> {
+            stmt.setString(1, "Team " + (i + 1));
+            stmt.setString(2, "Generated team " + (i + 1));
+            stmt.setTimestamp(3, old);
+        });
+
+        // One project in twenty has no dates, so the date sorts see nulls
+        insert(conn, """
+                INSERT INTO projects (name, description, start_date, expected_end_date, status, manager_id, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, rows, (stmt, i) -> {
+            LocalDate start = firstStart.plusDays(random.nextInt(6 * 365));
+            boolean undated = random.nextInt(20) == 0;
+            stmt.setString(1, "Project " + Integer.toString(random.nextInt(Integer.MAX_VALUE), 36));
+            stmt.setString(2, "Generated project " + (i + 1));
+            stmt.setDate(3, undated ? null : Date.valueOf(start));
+            stmt.setDate(4, undated ? null : Date.valueOf(start.plusDays(30 + random.nextInt(335))));
+            stmt.setString(5, STATUSES[random.nextInt(STATUSES.length)]);
+            stmt.setInt(6, 1 + random.nextInt(managers));
+            stmt.setTimestamp(7, old);
+        });
+
+        // Ten members per team, spread over all users
+        insert(conn, "INSERT INTO team_members (team_id, user_id) VALUES (?, ?)", teams * 10, (stmt, i) -> {
+            stmt.setInt(1, i / 10 + 1);
+            stmt.setInt(2, (int) ((long) i * 7 % rows) + 1);
+        });
+
+        // One team per project
+        insert(conn, "INSERT INTO project_teams (project_id, team_id) VALUES (?, ?)", rows, (stmt, i) -> {
+            stmt.setInt(1, i + 1);
+            stmt.setInt(2, i % teams + 1);
+        });
+    }
+
+    /**
+     * Binds one generated row.
+     */
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement stmt, int index) throws SQLException;
+    }
+
+    /**
+     * Inserts generated rows in committed batches.
+     */
+    private static void insert(Connection conn, String sql, int count, RowBinder binder) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                binder.bind(stmt, i);
+                stmt.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                    conn.commit();
+                }
+            }
+            stmt.executeBatch();
+            conn.commit();
+        }
+    }
+}